@@ -0,0 +1,61 @@
+package org.heavenhr.recruitment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.mapper.ApplicationMapper;
+import org.heavenhr.recruitment.model.response.ApplicationDetailsListResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the applications of an offer into the list response and of serializing that response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationMapperBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Application> applications;
+    private ApplicationDetailsListResponse response;
+
+    @Setup
+    public void setUp() {
+        Offer offer = Offer.builder().id(1L).jobTitle("Java developer").startDate(Date.valueOf(LocalDate.now())).build();
+        applications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            applications.add(Application.builder()
+                    .id((long) i)
+                    .offer(offer)
+                    .email("applicant" + i + "@test.com")
+                    .resumeText("Experienced Java developer with Spring Boot and Kafka, applicant number " + i)
+                    .status(ApplicationStatus.values()[i % ApplicationStatus.values().length])
+                    .build());
+        }
+        response = ApplicationMapper.mapApplicationListToResponse(applications);
+    }
+
+    @Benchmark
+    public ApplicationDetailsListResponse mapApplicationListToResponse() {
+        return ApplicationMapper.mapApplicationListToResponse(applications);
+    }
+
+    @Benchmark
+    public byte[] serializeApplicationDetailsListResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,50 @@
+package org.heavenhr.recruitment.benchmark;
+
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.exception.RecruitmentBusinessException;
+import org.heavenhr.recruitment.validator.ApplicationStatusValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the status transition rules, for an allowed transition and for a rejected one which throws.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationStatusValidatorBenchmark {
+
+    private ApplicationStatus applied = ApplicationStatus.APPLIED;
+    private ApplicationStatus invited = ApplicationStatus.INVITED;
+    private ApplicationStatus hired = ApplicationStatus.HIRED;
+
+    @Benchmark
+    public void checkAllowedStatusUpdate() {
+        ApplicationStatusValidator.checkIfStatusUpdateIsAllowed(applied, invited);
+    }
+
+    @Benchmark
+    public RecruitmentBusinessException checkRejectedStatusUpdate() {
+        try {
+            ApplicationStatusValidator.checkIfStatusUpdateIsAllowed(hired, applied);
+            return null;
+        } catch (RecruitmentBusinessException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public String getRejectedStatusUpdateError() {
+        return ApplicationStatusValidator.getStatusUpdateError(hired, applied);
+    }
+
+    @Benchmark
+    public Set<ApplicationStatus> getAllowedPreviousStatuses() {
+        return ApplicationStatusValidator.getAllowedPreviousStatuses(hired);
+    }
+}
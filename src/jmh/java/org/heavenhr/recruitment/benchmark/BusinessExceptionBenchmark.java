@@ -0,0 +1,96 @@
+package org.heavenhr.recruitment.benchmark;
+
+import org.heavenhr.recruitment.exception.ErrorCode;
+import org.heavenhr.recruitment.exception.RecruitmentBusinessException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per request cost of answering a missing offer with an error, thrown {@code depth} frames below the handler which is
+ * about the depth of a service call inside Spring MVC. Before: a new exception filling in its stack trace, which the
+ * handler then wrote to the log. After: the preallocated exception of the error code, or a new stackless one for
+ * codes with a request specific message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusinessExceptionBenchmark {
+
+    @Param({"20", "100"})
+    private int depth;
+
+    @Benchmark
+    public String stackTraceAndLogged() {
+        try {
+            throwAt(depth, () -> {
+                throw new StackTraceException("Offer with given id does not exists.");
+            });
+            return null;
+        } catch (StackTraceException ex) {
+            StringWriter log = new StringWriter();
+            ex.printStackTrace(new PrintWriter(log));
+            return log.toString();
+        }
+    }
+
+    @Benchmark
+    public RuntimeException stackTrace() {
+        try {
+            throwAt(depth, () -> {
+                throw new StackTraceException("Offer with given id does not exists.");
+            });
+            return null;
+        } catch (StackTraceException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public RuntimeException stackless() {
+        try {
+            throwAt(depth, () -> {
+                throw new RecruitmentBusinessException(ErrorCode.STATUS_UPDATE_NOT_ALLOWED,
+                        "Please select different status to update.");
+            });
+            return null;
+        } catch (RecruitmentBusinessException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public RuntimeException preallocated() {
+        try {
+            throwAt(depth, () -> {
+                throw ErrorCode.OFFER_NOT_FOUND.exception();
+            });
+            return null;
+        } catch (RecruitmentBusinessException ex) {
+            return ex;
+        }
+    }
+
+    private static void throwAt(int depth, Runnable thrower) {
+        if (depth == 0) {
+            thrower.run();
+        } else {
+            throwAt(depth - 1, thrower);
+        }
+    }
+
+    /**
+     * The business exception as it was, filling in its stack trace.
+     */
+    private static class StackTraceException extends RuntimeException {
+
+        private StackTraceException(String message) {
+            super(message);
+        }
+    }
+}
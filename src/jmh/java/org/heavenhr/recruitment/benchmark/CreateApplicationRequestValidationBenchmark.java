@@ -0,0 +1,58 @@
+package org.heavenhr.recruitment.benchmark;
+
+import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of bean validation of a create application request, as done for every request and every item of a batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateApplicationRequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CreateApplicationRequest validRequest;
+    private CreateApplicationRequest invalidRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRequest = CreateApplicationRequest.builder()
+                .offerId(1L)
+                .email("applicant@test.com")
+                .resumeText("Experienced Java developer")
+                .build();
+        invalidRequest = CreateApplicationRequest.builder()
+                .email("not an email")
+                .resumeText("")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateApplicationRequest>> validateValidRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateApplicationRequest>> validateInvalidRequest() {
+        return validator.validate(invalidRequest);
+    }
+}
@@ -0,0 +1,114 @@
+package org.heavenhr.recruitment.benchmark;
+
+import org.heavenhr.recruitment.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts from concurrent writers into an in-memory H2 table keyed by an {@code IDENTITY} column, which needs the
+ * generated key back after every single insert and so rules out JDBC batching, and into one keyed by snowflake ids
+ * assigned up front, inserted one by one and in batches like Hibernate does with {@code hibernate.jdbc.batch_size}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:id-benchmark;DB_CLOSE_DELAY=-1";
+    private static final int BATCH_SIZE = 50;
+
+    private final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+
+    private Connection connection;
+
+    @Setup
+    public void createTables() throws SQLException {
+        connection = DriverManager.getConnection(URL, "sa", "sa");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table identity_application (id bigint auto_increment primary key,"
+                    + " email varchar(255), offer_id bigint)");
+            statement.execute("create table snowflake_application (id bigint primary key,"
+                    + " email varchar(255), offer_id bigint)");
+        }
+    }
+
+    @TearDown
+    public void dropTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private Connection connection;
+        private PreparedStatement identityInsert;
+        private PreparedStatement snowflakeInsert;
+
+        @Setup
+        public void connect() throws SQLException {
+            connection = DriverManager.getConnection(URL, "sa", "sa");
+            identityInsert = connection.prepareStatement(
+                    "insert into identity_application (email, offer_id) values (?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            snowflakeInsert = connection.prepareStatement(
+                    "insert into snowflake_application (id, email, offer_id) values (?, ?, ?)");
+        }
+
+        @TearDown
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public long identityInsert(Writer writer) throws SQLException {
+        writer.identityInsert.setString(1, "candidate@test.com");
+        writer.identityInsert.setLong(2, 1L);
+        writer.identityInsert.executeUpdate();
+        try (ResultSet keys = writer.identityInsert.getGeneratedKeys()) {
+            keys.next();
+            return keys.getLong(1);
+        }
+    }
+
+    @Benchmark
+    public long snowflakeInsert(Writer writer) throws SQLException {
+        long id = generator.nextId();
+        writer.snowflakeInsert.setLong(1, id);
+        writer.snowflakeInsert.setString(2, "candidate@test.com");
+        writer.snowflakeInsert.setLong(3, 1L);
+        writer.snowflakeInsert.executeUpdate();
+        return id;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] snowflakeBatchInsert(Writer writer) throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            writer.snowflakeInsert.setLong(1, generator.nextId());
+            writer.snowflakeInsert.setString(2, "candidate@test.com");
+            writer.snowflakeInsert.setLong(3, 1L);
+            writer.snowflakeInsert.addBatch();
+        }
+        return writer.snowflakeInsert.executeBatch();
+    }
+}
@@ -0,0 +1,61 @@
+package org.heavenhr.recruitment.benchmark;
+
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.mapper.OfferMapper;
+import org.heavenhr.recruitment.model.request.CreateOfferRequest;
+import org.heavenhr.recruitment.model.response.OfferDetailsListResponse;
+import org.heavenhr.recruitment.model.response.OfferDetailsResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OfferMapperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private Offer offer;
+    private List<Offer> offers;
+    private CreateOfferRequest createOfferRequest;
+
+    @Setup
+    public void setUp() {
+        offer = Offer.builder().id(1L).jobTitle("Java developer").startDate(Date.valueOf(LocalDate.now())).build();
+        offers = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            offers.add(Offer.builder()
+                    .id((long) i)
+                    .jobTitle("Job title " + i)
+                    .startDate(Date.valueOf(LocalDate.now().plusDays(i)))
+                    .build());
+        }
+        createOfferRequest = CreateOfferRequest.builder()
+                .jobTitle("Java developer")
+                .startDate(LocalDate.now().plusMonths(1))
+                .build();
+    }
+
+    @Benchmark
+    public OfferDetailsResponse mapOfferToResponseObject() {
+        return OfferMapper.mapOfferToResponseObject(offer);
+    }
+
+    @Benchmark
+    public OfferDetailsListResponse mapOfferPageToResponseObject() {
+        return OfferMapper.mapOfferListToResponseObject(offers, (long) PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Offer mapCreateOfferRequestToOffer() {
+        return OfferMapper.mapCreateOfferRequestToOffer(createOfferRequest);
+    }
+}
@@ -2,8 +2,10 @@ package org.heavenhr.recruitment;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RecruitmentApplication {
 
     public static void main(String[] args) {
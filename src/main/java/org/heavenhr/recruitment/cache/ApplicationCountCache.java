@@ -0,0 +1,60 @@
+package org.heavenhr.recruitment.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded in process cache of the number of applications per offer id. Misses are loaded through the cache and an
+ * entry is dropped once an application of its offer was committed, so the next read loads the new counter. A drop
+ * issued while the counter is being loaded waits for the load and then removes its stale result. Hit and miss counts
+ * are published as {@code cache.gets} metrics tagged with {@code cache=applicationCount}.
+ */
+@Component
+public class ApplicationCountCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "applicationCount";
+
+    private final Cache<Long, Integer> cache;
+
+    public ApplicationCountCache(@Value("${recruitment.cache.application-count.max-size:10000}") long maxSize,
+                                 @Value("${recruitment.cache.application-count.expire-after-write-seconds:300}")
+                                         long expireAfterWriteSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public Integer get(Long offerId) {
+        return cache.getIfPresent(offerId);
+    }
+
+    /**
+     * Returns the cached count of the offer, loading it with {@code loader} on a miss.
+     */
+    public int get(Long offerId, Function<Long, Integer> loader) {
+        return cache.get(offerId, loader);
+    }
+
+    public void invalidate(Long offerId) {
+        cache.invalidate(offerId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
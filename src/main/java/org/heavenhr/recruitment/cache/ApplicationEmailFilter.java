@@ -0,0 +1,126 @@
+package org.heavenhr.recruitment.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over the (offer id, email) pairs of all applications, used to skip the duplicate check for emails that
+ * never applied to an offer. The filter never forgets a pair, so a miss is definite and a hit only means the database
+ * has to be asked. Until it has been seeded with the stored applications every lookup is answered as a possible hit.
+ * Lookups are published as {@code recruitment.applications.email.filter} tagged with {@code result=hit|miss}.
+ */
+@Component
+public class ApplicationEmailFilter implements MeterBinder {
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile boolean seeded;
+
+    public ApplicationEmailFilter(@Value("${recruitment.cache.application-email.expected-insertions:1000000}")
+                                          long expectedInsertions,
+                                  @Value("${recruitment.cache.application-email.false-positive-rate:0.01}")
+                                          double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException(
+                    "Expected insertions should be positive and false positive rate between zero and one.");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate)
+                / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((optimalBits + 63) / 64));
+        this.bitCount = this.bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(Long offerId, String email) {
+        long hash = hash(offerId, email);
+        long increment = mix(hash ^ GOLDEN_RATIO) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * increment, bitCount);
+            setBit((int) (bit >>> 6), 1L << bit);
+        }
+    }
+
+    /**
+     * Returns {@code false} only if no application of the email to the offer was ever added to the filter.
+     */
+    public boolean mightContain(Long offerId, String email) {
+        if (!seeded) {
+            hits.incrementAndGet();
+            return true;
+        }
+        long hash = hash(offerId, email);
+        long increment = mix(hash ^ GOLDEN_RATIO) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * increment, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                misses.incrementAndGet();
+                return false;
+            }
+        }
+        hits.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Called once all stored applications were added, from then on misses are trusted.
+     */
+    public void markSeeded() {
+        seeded = true;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    private void setBit(int word, long mask) {
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private static long hash(Long offerId, String email) {
+        long hash = mix(offerId == null ? 0L : offerId * GOLDEN_RATIO);
+        for (int i = 0; i < email.length(); i++) {
+            hash = (hash ^ email.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("recruitment.applications.email.filter", hits, AtomicLong::get)
+                .description("Duplicate application checks that had to query the database")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("recruitment.applications.email.filter", misses, AtomicLong::get)
+                .description("Duplicate application checks answered by the filter alone")
+                .tag("result", "miss")
+                .register(registry);
+    }
+}
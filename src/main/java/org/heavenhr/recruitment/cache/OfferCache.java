@@ -0,0 +1,65 @@
+package org.heavenhr.recruitment.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Read-through cache in front of {@link OfferRepository#findById(Object)}. Offers do not change after they are
+ * created, so cached instances are only bounded by size and age. Missing offers are not cached.
+ * <p>
+ * Cached offers are detached entities: {@code noOfJobApplications} of a cached offer is not kept up to date and must
+ * be read from the repository instead.
+ */
+@Component
+public class OfferCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "offer";
+
+    private final OfferRepository offerRepository;
+    private final boolean enabled;
+    private final Cache<Long, Offer> cache;
+
+    public OfferCache(OfferRepository offerRepository,
+                      @Value("${recruitment.cache.offer.enabled:true}") boolean enabled,
+                      @Value("${recruitment.cache.offer.max-size:10000}") long maxSize,
+                      @Value("${recruitment.cache.offer.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        this.offerRepository = offerRepository;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Offer> findById(Long id) {
+        return findById(id, offerRepository::findById);
+    }
+
+    /**
+     * Same as {@link #findById(Long)}, but a missing offer is loaded with {@code loader}, for callers that load it in
+     * a transaction of their own.
+     */
+    public Optional<Offer> findById(Long id, Function<Long, Optional<Offer>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(cache.get(id, offerId -> loader.apply(offerId).orElse(null)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
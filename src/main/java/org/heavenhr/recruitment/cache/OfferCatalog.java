@@ -0,0 +1,188 @@
+package org.heavenhr.recruitment.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.mapper.OfferMapper;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write snapshot of all offers in id order together with their serialized JSON, so a page of
+ * {@code GET /api/v1/offers} is written as a slice of one byte array without querying or serializing anything. Readers
+ * only dereference the current snapshot; creating an offer builds a new one and swaps it in.
+ * <p>
+ * Offers inserted outside of the offer service are picked up by {@link #refresh()}, which only ever adds offers.
+ */
+@Component
+public class OfferCatalog {
+
+    private static final byte[] OFFERS_START = "{\"offers\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OFFERS_END = "],\"nextCursor\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "}".getBytes(StandardCharsets.US_ASCII);
+
+    private final OfferRepository offerRepository;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public OfferCatalog(OfferRepository offerRepository, ObjectMapper objectMapper) {
+        this.offerRepository = offerRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the offers with an id greater than {@code after}, at most {@code pageSize} of them.
+     */
+    public Page getPage(long after, int pageSize) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current.page(after, pageSize);
+    }
+
+    /**
+     * Adds a created offer to the snapshot. Before the first snapshot is loaded the offer is not merged into an empty
+     * catalog, which would hide every other offer until the next refresh; the full snapshot is loaded instead.
+     */
+    public void add(Offer offer) {
+        if (snapshot.get() == null) {
+            refresh();
+        }
+        byte[] json = serialize(offer);
+        snapshot.updateAndGet(current -> {
+            TreeMap<Long, byte[]> offers = current.toMap();
+            offers.put(offer.getId(), json);
+            return new Snapshot(offers);
+        });
+    }
+
+    /**
+     * Reloads all offers from the database and merges them into the snapshot.
+     *
+     * @return {@code true} if offers were added.
+     */
+    public boolean refresh() {
+        TreeMap<Long, byte[]> loaded = new TreeMap<>();
+        offerRepository.findAll(Sort.by("id")).forEach(offer -> loaded.put(offer.getId(), serialize(offer)));
+
+        Snapshot previous = snapshot.getAndUpdate(current -> {
+            if (current == null) {
+                return new Snapshot(loaded);
+            }
+            TreeMap<Long, byte[]> offers = current.toMap();
+            loaded.forEach(offers::putIfAbsent);
+            return offers.size() == current.size() ? current : new Snapshot(offers);
+        });
+        return previous == null || snapshot.get() != previous;
+    }
+
+    private byte[] serialize(Offer offer) {
+        try {
+            return objectMapper.writeValueAsBytes(OfferMapper.mapOfferToResponseObject(offer));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final long[] ids;
+        private final int[] offsets;
+        private final byte[] json;
+
+        private Snapshot(TreeMap<Long, byte[]> offers) {
+            ids = new long[offers.size()];
+            offsets = new int[offers.size() + 1];
+            int length = 0;
+            int index = 0;
+            for (Map.Entry<Long, byte[]> offer : offers.entrySet()) {
+                ids[index] = offer.getKey();
+                offsets[index++] = length;
+                length += offer.getValue().length;
+            }
+            offsets[index] = length;
+
+            json = new byte[length];
+            index = 0;
+            for (byte[] offer : offers.values()) {
+                System.arraycopy(offer, 0, json, offsets[index++], offer.length);
+            }
+        }
+
+        private int size() {
+            return ids.length;
+        }
+
+        private TreeMap<Long, byte[]> toMap() {
+            TreeMap<Long, byte[]> offers = new TreeMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                offers.put(ids[i], Arrays.copyOfRange(json, offsets[i], offsets[i + 1]));
+            }
+            return offers;
+        }
+
+        private Page page(long after, int pageSize) {
+            int position = Arrays.binarySearch(ids, after);
+            int from = position >= 0 ? position + 1 : -position - 1;
+            int to = (int) Math.min((long) from + pageSize, ids.length);
+            // Same contract as the database query: a cursor is only returned when there are more offers.
+            byte[] nextCursor = to < ids.length && to > from
+                    ? Long.toString(ids[to - 1]).getBytes(StandardCharsets.US_ASCII) : NULL;
+            return new Page(this, from, to, nextCursor);
+        }
+    }
+
+    /**
+     * One page of the catalog, written as the JSON of {@code OfferDetailsListResponse}.
+     */
+    public static final class Page {
+
+        private final Snapshot snapshot;
+        private final int from;
+        private final int to;
+        private final byte[] nextCursor;
+
+        private Page(Snapshot snapshot, int from, int to, byte[] nextCursor) {
+            this.snapshot = snapshot;
+            this.from = from;
+            this.to = to;
+            this.nextCursor = nextCursor;
+        }
+
+        public int getOfferCount() {
+            return to - from;
+        }
+
+        public int getContentLength() {
+            int separators = Math.max(0, to - from - 1);
+            return OFFERS_START.length + snapshot.offsets[to] - snapshot.offsets[from] + separators
+                    + OFFERS_END.length + nextCursor.length + END.length;
+        }
+
+        public void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(OFFERS_START);
+            for (int i = from; i < to; i++) {
+                if (i > from) {
+                    outputStream.write(',');
+                }
+                outputStream.write(snapshot.json, snapshot.offsets[i], snapshot.offsets[i + 1] - snapshot.offsets[i]);
+            }
+            outputStream.write(OFFERS_END);
+            outputStream.write(nextCursor);
+            outputStream.write(END);
+        }
+    }
+}
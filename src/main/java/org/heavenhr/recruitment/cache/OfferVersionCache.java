@@ -0,0 +1,52 @@
+package org.heavenhr.recruitment.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of the offers and of the offer list, used as weak ETags of the read endpoints. A counter is
+ * increased after every committed change of the offer or its applications. Every ETag also carries an epoch that
+ * changes on start up and when all counters are invalidated, so a client can never match a tag handed out before.
+ * <p>
+ * Counters are kept in this process only and assume that all writes go through it.
+ */
+@Component
+public class OfferVersionCache {
+
+    private final ConcurrentMap<Long, AtomicLong> offerVersions = new ConcurrentHashMap<>();
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private volatile String epoch = newEpoch();
+
+    public String getOfferETag(Long offerId) {
+        AtomicLong version = offerVersions.get(offerId);
+        return eTag(epoch, "o" + offerId + "-" + (version == null ? 0L : version.get()));
+    }
+
+    public String getCatalogETag() {
+        return eTag(epoch, "c" + catalogVersion.get());
+    }
+
+    public void increment(Long offerId) {
+        offerVersions.computeIfAbsent(offerId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    public void incrementCatalog() {
+        catalogVersion.incrementAndGet();
+    }
+
+    public void invalidateAll() {
+        epoch = newEpoch();
+    }
+
+    private static String eTag(String epoch, String version) {
+        return "W/\"" + epoch + "-" + version + "\"";
+    }
+
+    private static String newEpoch() {
+        return Long.toString(System.nanoTime() ^ System.currentTimeMillis(), Character.MAX_RADIX);
+    }
+}
@@ -1,7 +1,10 @@
 package org.heavenhr.recruitment.controller;
 
+import org.heavenhr.recruitment.model.request.BatchCreateApplicationRequest;
+import org.heavenhr.recruitment.model.request.BatchUpdateApplicationStatusRequest;
 import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
 import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
+import org.heavenhr.recruitment.service.ApplicationBatchService;
 import org.heavenhr.recruitment.service.ApplicationService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,9 +18,12 @@ import javax.validation.constraints.NotNull;
 public class ApplicationController {
 
     private final ApplicationService applicationService;
+    private final ApplicationBatchService applicationBatchService;
 
-    public ApplicationController(ApplicationService applicationService) {
+    public ApplicationController(ApplicationService applicationService,
+                                 ApplicationBatchService applicationBatchService) {
         this.applicationService = applicationService;
+        this.applicationBatchService = applicationBatchService;
     }
 
     @PostMapping
@@ -25,6 +31,18 @@ public class ApplicationController {
         return new ResponseEntity(applicationService.createApplication(request), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity createApplications(@Valid @RequestBody BatchCreateApplicationRequest request) {
+        return new ResponseEntity(applicationBatchService.createApplications(request.getApplications()),
+                HttpStatus.OK);
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity updateApplicationStatuses(@Valid @RequestBody BatchUpdateApplicationStatusRequest request) {
+        return new ResponseEntity(applicationBatchService.updateApplicationStatuses(request.getApplicationIds(),
+                request.getStatus()), HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity updateApplication(@PathVariable("id") @NotNull Long id,
                                             @Valid @RequestBody UpdateApplicationRequest updateApplicationRequest) {
@@ -1,25 +1,56 @@
 package org.heavenhr.recruitment.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.heavenhr.recruitment.cache.OfferCatalog;
+import org.heavenhr.recruitment.cache.OfferVersionCache;
+import org.heavenhr.recruitment.exception.ErrorCode;
+import org.heavenhr.recruitment.executor.ReadExecutor;
 import org.heavenhr.recruitment.model.request.CreateOfferRequest;
+import org.heavenhr.recruitment.service.ApplicationSearchService;
 import org.heavenhr.recruitment.service.ApplicationService;
 import org.heavenhr.recruitment.service.OfferService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("api/v1/offers")
 public class OfferController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final String DEFAULT_PAGE_SIZE = "20";
+
+    private static final String FULL_VIEW = "full";
+    private static final String SUMMARY_VIEW = "summary";
+
     private final OfferService offerService;
     private final ApplicationService applicationService;
+    private final ApplicationSearchService applicationSearchService;
+    private final ObjectMapper objectMapper;
+    private final OfferVersionCache offerVersionCache;
+    private final ReadExecutor readExecutor;
 
-    public OfferController(OfferService offerService, ApplicationService applicationService) {
+    public OfferController(OfferService offerService, ApplicationService applicationService,
+                           ApplicationSearchService applicationSearchService, ObjectMapper objectMapper,
+                           OfferVersionCache offerVersionCache, ReadExecutor readExecutor) {
         this.offerService = offerService;
         this.applicationService = applicationService;
+        this.applicationSearchService = applicationSearchService;
+        this.objectMapper = objectMapper;
+        this.offerVersionCache = offerVersionCache;
+        this.readExecutor = readExecutor;
     }
 
     @PostMapping
@@ -28,29 +59,86 @@ public class OfferController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity getOfferById(@PathVariable("id") @NotNull Long id) {
-        return new ResponseEntity(offerService.getOfferById(id), HttpStatus.OK);
+    public Object getOfferById(@PathVariable("id") @NotNull Long id, WebRequest webRequest) {
+        return conditional(webRequest, offerVersionCache.getOfferETag(id), () -> offerService.getOfferById(id));
     }
 
     @GetMapping
-    public ResponseEntity getAllOffers() {
-        return new ResponseEntity(offerService.getAllOffers(), HttpStatus.OK);
+    public void getAllOffers(@RequestParam(value = "after", required = false) Long after,
+                             @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_SIZE) int limit,
+                             WebRequest webRequest, HttpServletResponse response) throws IOException {
+        if (webRequest.checkNotModified(offerVersionCache.getCatalogETag())) {
+            return;
+        }
+        // The page is a slice of the serialized catalog, so it is written as is instead of going through Jackson.
+        OfferCatalog.Page page = offerService.getAllOffersPage(after, limit);
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        response.setContentLength(page.getContentLength());
+        page.writeTo(response.getOutputStream());
     }
 
     @GetMapping("/{offerId}/applications/{applicationId}")
-    public ResponseEntity getApplicationByOfferIdAndApplicationId(@PathVariable("offerId") @NotNull Long offerId,
-                                                                  @PathVariable("applicationId") @NotNull Long applicationId) {
-        return new ResponseEntity(applicationService.getApplicationByOfferIdAndApplicationId(offerId, applicationId),
-                HttpStatus.OK);
+    public Object getApplicationByOfferIdAndApplicationId(@PathVariable("offerId") @NotNull Long offerId,
+                                                          @PathVariable("applicationId") @NotNull Long applicationId,
+                                                          WebRequest webRequest) {
+        return conditional(webRequest, offerVersionCache.getOfferETag(offerId),
+                () -> applicationService.getApplicationByOfferIdAndApplicationId(offerId, applicationId));
     }
 
     @GetMapping("/{id}/applications")
-    public ResponseEntity getAllApplicationsByOfferId(@PathVariable("id") @NotNull Long id) {
-        return new ResponseEntity(applicationService.getAllApplicationsByOfferId(id), HttpStatus.OK);
+    public Object getAllApplicationsByOfferId(@PathVariable("id") @NotNull Long id,
+                                              @RequestParam(value = "view", defaultValue = FULL_VIEW) String view,
+                                              WebRequest webRequest) {
+        String eTag = offerVersionCache.getOfferETag(id);
+        if (SUMMARY_VIEW.equalsIgnoreCase(view)) {
+            return conditional(webRequest, eTag, () -> applicationService.getAllApplicationSummariesByOfferId(id));
+        }
+        if (!FULL_VIEW.equalsIgnoreCase(view)) {
+            throw ErrorCode.INVALID_VIEW.exception();
+        }
+        return conditional(webRequest, eTag, () -> applicationService.getAllApplicationsByOfferId(id));
+    }
+
+    @GetMapping(value = "/{id}/applications", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllApplicationsByOfferId(@PathVariable("id") @NotNull Long id) {
+        StreamingResponseBody body = outputStream -> applicationService.streamAllApplicationsByOfferId(id,
+                application -> writeJsonLine(outputStream, application));
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
+    }
+
+    @GetMapping("/{id}/applications/search")
+    public Object searchApplicationsByOfferId(@PathVariable("id") @NotNull Long id,
+                                              @RequestParam("q") String query,
+                                              @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_SIZE)
+                                                      int limit) {
+        return readExecutor.execute(() -> new ResponseEntity(applicationSearchService.searchApplications(id, query,
+                limit), HttpStatus.OK));
     }
 
     @GetMapping("/{id}/applications/count")
-    public ResponseEntity getCountOfApplicationsByOfferId(@PathVariable("id") @NotNull Long id) {
-        return new ResponseEntity(applicationService.getCountOfApplicationByOfferId(id), HttpStatus.OK);
+    public Object getCountOfApplicationsByOfferId(@PathVariable("id") @NotNull Long id, WebRequest webRequest) {
+        return conditional(webRequest, offerVersionCache.getOfferETag(id),
+                () -> applicationService.getCountOfApplicationByOfferId(id));
+    }
+
+    /**
+     * Answers 304 without loading the body when the client already holds the current version. The tag is taken
+     * before the body is read, so a change committed in between only ever makes the tag older than the body. The
+     * body itself is loaded through {@link ReadExecutor}, which may do so on another thread.
+     */
+    private Object conditional(WebRequest webRequest, String eTag, Supplier<Object> body) {
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return readExecutor.execute(() -> ResponseEntity.ok().eTag(eTag).body(body.get()));
+    }
+
+    private void writeJsonLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package org.heavenhr.recruitment.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives read-your-writes on top of asynchronously replicated replicas. Offers written within the last
+ * {@code replica-lag-ms} are remembered, and read only transactions about such an offer are sent to the primary
+ * instead of a replica that may not have the change yet.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private final Cache<Long, Boolean> recentlyWrittenOffers;
+    private final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+
+    public ReplicaLagGuard(@Value("${recruitment.datasource.replica-lag-ms:1000}") long replicaLagMs) {
+        this.recentlyWrittenOffers = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(replicaLagMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public void recordWrite(Long offerId) {
+        recentlyWrittenOffers.put(offerId, Boolean.TRUE);
+    }
+
+    /**
+     * Sends the current read only transaction to the primary if the offer was written recently. Has to be called
+     * before the first query of the transaction, which is when its connection is chosen.
+     */
+    public void guardRead(Long offerId) {
+        if (recentlyWrittenOffers.getIfPresent(offerId) == null
+                || !TransactionSynchronizationManager.isSynchronizationActive() || isPrimaryRequired()) {
+            return;
+        }
+        primaryRequired.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                primaryRequired.remove();
+            }
+        });
+    }
+
+    boolean isPrimaryRequired() {
+        return primaryRequired.get() != null;
+    }
+}
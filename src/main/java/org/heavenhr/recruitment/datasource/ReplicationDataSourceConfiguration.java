@@ -0,0 +1,64 @@
+package org.heavenhr.recruitment.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto configured data source by {@link ReplicationRoutingDataSource} once replicas are configured in
+ * {@code recruitment.datasource.replica-urls}. The primary keeps the {@code spring.datasource} settings, the replicas
+ * share its credentials unless {@code replica-username} and {@code replica-password} are set.
+ * <p>
+ * The pools are not beans of their own, otherwise the schema initialization of Spring Boot would run against each of
+ * them, so they are closed here.
+ */
+@Configuration
+@ConditionalOnProperty("recruitment.datasource.replica-urls")
+public class ReplicationDataSourceConfiguration implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ReplicaLagGuard replicaLagGuard,
+                                 @Value("${recruitment.datasource.replica-urls}") String[] replicaUrls,
+                                 @Value("${recruitment.datasource.replica-username:}") String replicaUsername,
+                                 @Value("${recruitment.datasource.replica-password:}") String replicaPassword) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName(ReplicationRoutingDataSource.PRIMARY);
+        pools.add(primary);
+
+        List<DataSource> replicas = new ArrayList<>(replicaUrls.length);
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls[i].trim())
+                    .username(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername)
+                    .password(replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword)
+                    .build();
+            replica.setPoolName(ReplicationRoutingDataSource.REPLICA + i);
+            replica.setReadOnly(true);
+            pools.add(replica);
+            replicas.add(replica);
+        }
+
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(primary, replicas,
+                replicaLagGuard);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
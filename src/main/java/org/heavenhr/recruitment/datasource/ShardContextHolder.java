@@ -0,0 +1,34 @@
+package org.heavenhr.recruitment.datasource;
+
+/**
+ * Holds the shard the current thread works on. It is read by {@link ShardRoutingDataSource} when a connection is
+ * opened and by {@link ShardedSequenceGenerator} when an application id is generated, both of which are not managed by
+ * Spring. Without a shard the first one is used.
+ */
+public final class ShardContextHolder {
+
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    private ShardContextHolder() {
+    }
+
+    public static int getShard() {
+        Integer shard = SHARD.get();
+        return shard == null ? 0 : shard;
+    }
+
+    /**
+     * Sets the shard of the current thread, {@code null} resets it.
+     *
+     * @return the shard set before, to be restored afterwards.
+     */
+    static Integer setShard(Integer shard) {
+        Integer previous = SHARD.get();
+        if (shard == null) {
+            SHARD.remove();
+        } else {
+            SHARD.set(shard);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,22 @@
+package org.heavenhr.recruitment.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter of a service method that decides the shard the method works on, see {@link ShardRouting}. The
+ * parameter is an offer id or an application id, or an object holding one in the property named by {@link #value()}.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+
+    /**
+     * Property of the argument holding the id, empty if the argument is the id itself.
+     */
+    String value() default "";
+}
@@ -0,0 +1,48 @@
+package org.heavenhr.recruitment.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Decides which of the {@code recruitment.datasource.shard-urls} stores the applications of an offer. Offers are
+ * spread by their id and every application id carries the shard it was stored on (see
+ * {@link ShardedSequenceGenerator}), so both map to their shard with the same modulo and no directory is needed. The
+ * offers themselves are copied to every shard, which keeps the joins of the application queries local.
+ * <p>
+ * The number of shards must not change once data was written, moving data between shards is not supported.
+ */
+@Component
+public class ShardRouting {
+
+    private final int shardCount;
+
+    public ShardRouting(@Value("${recruitment.datasource.shard-urls:}") String[] shardUrls) {
+        this.shardCount = Math.max(1, shardUrls.length);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Returns the shard of an offer id or an application id.
+     */
+    public int shardOf(Long id) {
+        return id == null ? 0 : (int) Math.floorMod(id, (long) shardCount);
+    }
+
+    /**
+     * Runs the action with its connections opened on the given shard. Transactions started by the action stay on the
+     * shard, a transaction that is already running keeps its connection.
+     */
+    public <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = ShardContextHolder.setShard(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContextHolder.setShard(previous);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.heavenhr.recruitment.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Runs service methods with a {@link ShardKey} parameter on the shard of that parameter. It is ordered before the
+ * transaction interceptor, so the transaction of the method is opened on the shard.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardRoutingAspect {
+
+    private final ShardRouting shardRouting;
+    private final ConcurrentMap<Method, ShardKeyParameter> shardKeyParameters = new ConcurrentHashMap<>();
+
+    public ShardRoutingAspect(ShardRouting shardRouting) {
+        this.shardRouting = shardRouting;
+    }
+
+    @Around("within(org.heavenhr.recruitment.service..*) "
+            + "&& execution(* *(.., @org.heavenhr.recruitment.datasource.ShardKey (*), ..))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                joinPoint.getTarget().getClass());
+        ShardKeyParameter shardKeyParameter = shardKeyParameters.computeIfAbsent(method, this::findShardKeyParameter);
+
+        Integer previous = ShardContextHolder.setShard(shardRouting.shardOf(
+                shardKeyParameter.getId(joinPoint.getArgs())));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContextHolder.setShard(previous);
+        }
+    }
+
+    private ShardKeyParameter findShardKeyParameter(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int index = 0; index < annotations.length; index++) {
+            for (Annotation annotation : annotations[index]) {
+                if (annotation instanceof ShardKey) {
+                    return new ShardKeyParameter(index, ((ShardKey) annotation).value());
+                }
+            }
+        }
+        throw new IllegalStateException("No @ShardKey parameter on " + method);
+    }
+
+    private static final class ShardKeyParameter {
+
+        private final int index;
+        private final String property;
+
+        private ShardKeyParameter(int index, String property) {
+            this.index = index;
+            this.property = property;
+        }
+
+        private Long getId(Object[] args) {
+            Object value = args[index];
+            if (value != null && !property.isEmpty()) {
+                value = new BeanWrapperImpl(value).getPropertyValue(property);
+            }
+            return value == null ? null : ((Number) value).longValue();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.heavenhr.recruitment.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opens connections on the shard set in {@link ShardContextHolder}. Like {@link ReplicationRoutingDataSource} it has
+ * to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required.");
+        }
+        Map<Object, Object> dataSources = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            dataSources.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(dataSources);
+        setDefaultTargetDataSource(shards.get(0));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContextHolder.getShard();
+    }
+}
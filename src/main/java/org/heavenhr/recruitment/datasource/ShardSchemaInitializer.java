@@ -0,0 +1,53 @@
+package org.heavenhr.recruitment.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies the schema Hibernate generated on the first shard to the other shards, using the {@code SCRIPT} command of
+ * H2. Only meant for local in-memory shards, real databases are migrated on every shard.
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final List<? extends DataSource> shards;
+
+    public ShardSchemaInitializer(List<? extends DataSource> shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        List<String> schema = new ArrayList<>();
+        try (Connection connection = shards.get(0).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            while (script.next()) {
+                String sql = script.getString(1);
+                // The users already exist, they are created when the database is opened.
+                if (!sql.startsWith("--") && !sql.startsWith("CREATE USER")) {
+                    schema.add(sql);
+                }
+            }
+        }
+
+        for (DataSource shard : shards.subList(1, shards.size())) {
+            try (Connection connection = shard.getConnection(); Statement statement = connection.createStatement()) {
+                for (String sql : schema) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        LOG.info("Copied schema of first shard to {} shards", shards.size() - 1);
+    }
+}
@@ -0,0 +1,69 @@
+package org.heavenhr.recruitment.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto configured data source by {@link ShardRoutingDataSource} over the databases in
+ * {@code recruitment.datasource.shard-urls}, all of them using the {@code spring.datasource} credentials. Hibernate
+ * only generates the schema on the first shard; local H2 shards get a copy with
+ * {@code recruitment.datasource.shard-schema-copy}, other databases have to be migrated on every shard.
+ * <p>
+ * The shards cannot be combined with {@code recruitment.datasource.replica-urls} yet.
+ */
+@Configuration
+@ConditionalOnProperty("recruitment.datasource.shard-urls")
+public class ShardedDataSourceConfiguration implements DisposableBean {
+
+    private final List<HikariDataSource> shards = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${recruitment.datasource.shard-urls}") String[] shardUrls) {
+        for (int shard = 0; shard < shardUrls.length; shard++) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shardUrls[shard].trim())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            dataSource.setPoolName("shard-" + shard);
+            shards.add(dataSource);
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(new ArrayList<>(shards));
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardCountCustomizer(ShardRouting shardRouting) {
+        return hibernateProperties -> hibernateProperties.put(ShardedSequenceGenerator.SHARD_COUNT,
+                shardRouting.getShardCount());
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    @ConditionalOnProperty(name = "recruitment.datasource.shard-schema-copy", havingValue = "true")
+    public ShardSchemaInitializer shardSchemaInitializer() {
+        return new ShardSchemaInitializer(shards);
+    }
+
+    @Override
+    public void destroy() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,57 @@
+package org.heavenhr.recruitment.datasource;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.ExportableProducer;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Sequence generator for ids that tell their shard: the value of the sequence of the current shard times the number of
+ * shards plus the shard, so {@link ShardRouting#shardOf(Long)} finds the shard of an id without a lookup. Every shard
+ * has its own optimizer, the pooled values of one shard's sequence must not be used on another shard. With a single
+ * shard the ids are the plain sequence values. Takes the parameters of {@link SequenceStyleGenerator}.
+ */
+public class ShardedSequenceGenerator implements IdentifierGenerator, Configurable, ExportableProducer {
+
+    /**
+     * Hibernate setting with the number of shards, one if missing.
+     */
+    public static final String SHARD_COUNT = "recruitment.shard-count";
+
+    private SequenceStyleGenerator[] shardGenerators;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        int shardCount = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(SHARD_COUNT, value -> Integer.valueOf(value.toString()), 1);
+        shardGenerators = new SequenceStyleGenerator[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            shardGenerators[shard] = new SequenceStyleGenerator();
+            shardGenerators[shard].configure(type, params, serviceRegistry);
+        }
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        // All shards share the same sequence definition, registering it again only initializes the generator.
+        for (SequenceStyleGenerator shardGenerator : shardGenerators) {
+            shardGenerator.registerExportables(database);
+        }
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        int shard = ShardContextHolder.getShard();
+        long value = ((Number) shardGenerators[shard].generate(session, object)).longValue();
+        return value * shardGenerators.length + shard;
+    }
+}
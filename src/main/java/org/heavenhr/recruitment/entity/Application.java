@@ -3,7 +3,11 @@ package org.heavenhr.recruitment.entity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
@@ -16,7 +20,11 @@ import javax.persistence.*;
 public class Application {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "application_sequence")
+    @GenericGenerator(name = "application_sequence",
+            strategy = "org.heavenhr.recruitment.datasource.ShardedSequenceGenerator",
+            parameters = {@Parameter(name = "sequence_name", value = "application_sequence"),
+                    @Parameter(name = "increment_size", value = "50")})
     private Long id;
 
     @ManyToOne
@@ -26,10 +34,28 @@ public class Application {
     @Column(nullable = false)
     private String email;
 
-    @Column(nullable = false)
-    private String resumeText;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, optional = false)
+    @JoinColumn(name = "resume_id", nullable = false, unique = true)
+    private ApplicationResume resume;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ApplicationStatus status;
+
+    @Version
+    private Long version;
+
+    public String getResumeText() {
+        return resume == null ? null : resume.getResumeText();
+    }
+
+    public static class ApplicationBuilder {
+
+        public ApplicationBuilder resumeText(String resumeText) {
+            this.resume = ApplicationResume.builder().resumeText(resumeText).build();
+            return this;
+        }
+    }
 }
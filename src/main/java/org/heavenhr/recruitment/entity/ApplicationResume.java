@@ -0,0 +1,29 @@
+package org.heavenhr.recruitment.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Resume of an application, kept out of the {@code application} row so that list queries do not read it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "application_resume")
+public class ApplicationResume {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "application_resume_sequence")
+    @SequenceGenerator(name = "application_resume_sequence", sequenceName = "application_resume_sequence",
+            allocationSize = 50)
+    private Long id;
+
+    @Lob
+    @Column(nullable = false)
+    private String resumeText;
+}
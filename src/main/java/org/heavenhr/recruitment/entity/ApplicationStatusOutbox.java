@@ -0,0 +1,56 @@
+package org.heavenhr.recruitment.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+/**
+ * Status change of an application recorded in the same transaction as the update itself. Rows are relayed to the
+ * {@link org.heavenhr.recruitment.event.ApplicationStatusEvent} listeners in id order and flagged as delivered.
+ * <p>
+ * A row holds everything the listeners are given about the application as it was right after the change, so a
+ * relayed event never shows a later state of the application.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "application_status_outbox")
+@Table(indexes = {@Index(name = "idx_application_status_outbox_delivered_id", columnList = "delivered, id")})
+public class ApplicationStatusOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "application_status_outbox_sequence")
+    @SequenceGenerator(name = "application_status_outbox_sequence",
+            sequenceName = "application_status_outbox_sequence", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long applicationId;
+
+    @Column(nullable = false)
+    private Long offerId;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ApplicationStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ApplicationStatus newStatus;
+
+    @Column(nullable = false)
+    private Timestamp createdAt;
+
+    @Column(nullable = false)
+    private boolean delivered;
+
+    private Timestamp deliveredAt;
+}
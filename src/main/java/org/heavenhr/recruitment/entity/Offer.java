@@ -4,7 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.sql.Date;
@@ -17,7 +17,8 @@ import java.sql.Date;
 public class Offer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "offer_id")
+    @GenericGenerator(name = "offer_id", strategy = "org.heavenhr.recruitment.id.SnowflakeIdentifierGenerator")
     private Long id;
 
     @Column(unique = true)
@@ -26,6 +27,6 @@ public class Offer {
     @Column(nullable = false)
     private Date startDate;
 
-    @Formula("select count(*) from application a where a.offer_id = id")
+    @Column(nullable = false)
     private int noOfJobApplications;
 }
@@ -0,0 +1,10 @@
+package org.heavenhr.recruitment.event;
+
+import org.springframework.context.ApplicationEvent;
+
+public class ApplicationCountReconciledEvent extends ApplicationEvent {
+
+    public ApplicationCountReconciledEvent(Object source) {
+        super(source);
+    }
+}
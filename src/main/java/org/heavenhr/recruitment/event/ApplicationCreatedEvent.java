@@ -0,0 +1,16 @@
+package org.heavenhr.recruitment.event;
+
+import lombok.Getter;
+import org.heavenhr.recruitment.entity.Application;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class ApplicationCreatedEvent extends ApplicationEvent {
+
+    private final Application application;
+
+    public ApplicationCreatedEvent(Object source, Application application) {
+        super(source);
+        this.application = application;
+    }
+}
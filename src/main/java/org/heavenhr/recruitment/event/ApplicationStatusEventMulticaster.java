@@ -0,0 +1,252 @@
+package org.heavenhr.recruitment.event;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.heavenhr.recruitment.jfr.ApplicationStatusDispatchEvent;
+import org.heavenhr.recruitment.jfr.ApplicationStatusPublishEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replaces the default {@link SimpleApplicationEventMulticaster} of the context so that
+ * {@link ApplicationStatusEvent} listeners run on background workers instead of the request thread. All other
+ * events keep being delivered synchronously.
+ * <p>
+ * Every application id is pinned to one single threaded worker, so the events of an application are delivered in the
+ * order they were published. Events published inside a transaction are only handed over once it commits. When the
+ * queue of a worker is full the publisher waits up to {@code overflow-wait-ms} for space and the event is dropped and
+ * counted afterwards, so a slow listener can never block the write path for longer than that.
+ * <p>
+ * Hand over and delivery are recorded as Flight Recorder events unless {@code recruitment.jfr.enabled=false} or the
+ * JVM has no Flight Recorder.
+ */
+@Component(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+public class ApplicationStatusEventMulticaster extends SimpleApplicationEventMulticaster
+        implements MeterBinder, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApplicationStatusEventMulticaster.class);
+    private static final String JFR_EVENT_CLASS = "jdk.jfr.Event";
+
+    private final ThreadPoolExecutor[] workers;
+    private final long overflowWaitMs;
+    private final long shutdownTimeoutMs;
+    private final boolean jfrEnabled;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    @Nullable
+    private volatile Timer lagTimer;
+
+    public ApplicationStatusEventMulticaster(@Value("${recruitment.events.status.workers:4}") int workers,
+                                             @Value("${recruitment.events.status.queue-capacity:1000}")
+                                                     int queueCapacity,
+                                             @Value("${recruitment.events.status.overflow-wait-ms:100}")
+                                                     long overflowWaitMs,
+                                             @Value("${recruitment.events.status.shutdown-timeout-ms:10000}")
+                                                     long shutdownTimeoutMs,
+                                             @Value("${recruitment.jfr.enabled:true}") boolean jfrEnabled) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Status event workers and queue capacity should be greater than zero.");
+        }
+        this.overflowWaitMs = overflowWaitMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.jfrEnabled = jfrEnabled && ClassUtils.isPresent(JFR_EVENT_CLASS, getClass().getClassLoader());
+        this.workers = new ThreadPoolExecutor[workers];
+        for (int i = 0; i < workers; i++) {
+            this.workers[i] = createWorker(i, queueCapacity);
+        }
+    }
+
+    @Override
+    public void multicastEvent(ApplicationEvent event, @Nullable ResolvableType eventType) {
+        if (!(event instanceof ApplicationStatusEvent)) {
+            super.multicastEvent(event, eventType);
+            return;
+        }
+
+        ResolvableType type = eventType != null ? eventType : ResolvableType.forInstance(event);
+        Collection<ApplicationListener<?>> listeners = getApplicationListeners(event, type);
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        ApplicationStatusEvent statusEvent = (ApplicationStatusEvent) event;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    dispatch(statusEvent, listeners);
+                }
+            });
+        } else {
+            dispatch(statusEvent, listeners);
+        }
+    }
+
+    /**
+     * Hands the event to the worker of its application right away, ignoring any surrounding transaction. The returned
+     * future completes once all listeners returned and fails if one of them threw or the event was dropped.
+     */
+    public CompletableFuture<Void> dispatch(ApplicationStatusEvent event) {
+        Collection<ApplicationListener<?>> listeners = getApplicationListeners(event,
+                ResolvableType.forInstance(event));
+        if (listeners.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return dispatch(event, listeners);
+    }
+
+    private CompletableFuture<Void> dispatch(ApplicationStatusEvent event,
+                                             Collection<ApplicationListener<?>> listeners) {
+        DispatchTask task = new DispatchTask(event, listeners);
+        if (!jfrEnabled) {
+            workerOf(event).execute(task);
+            return task.result;
+        }
+        ApplicationStatusPublishEvent publishEvent = new ApplicationStatusPublishEvent();
+        publishEvent.begin();
+        workerOf(event).execute(task);
+        publishEvent.commit(event, listeners.size(), task.dropped);
+        return task.result;
+    }
+
+    private ThreadPoolExecutor workerOf(ApplicationStatusEvent event) {
+        Long applicationId = event.getApplication().getId();
+        int hash = applicationId == null ? 0 : Long.hashCode(applicationId);
+        return workers[Math.floorMod(hash, workers.length)];
+    }
+
+    private ThreadPoolExecutor createWorker(int index, int queueCapacity) {
+        ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "status-event-" + index);
+            thread.setDaemon(true);
+            return thread;
+        }, this::onOverflow);
+        worker.prestartCoreThread();
+        return worker;
+    }
+
+    private void onOverflow(Runnable task, ThreadPoolExecutor worker) {
+        try {
+            if (!worker.isShutdown() && worker.getQueue().offer(task, overflowWaitMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        droppedEvents.incrementAndGet();
+        LOG.warn("Status event queue is full, dropping event");
+        if (task instanceof DispatchTask) {
+            ((DispatchTask) task).dropped = true;
+            ((DispatchTask) task).result.completeExceptionally(
+                    new RejectedExecutionException("Status event queue is full"));
+        }
+    }
+
+    int getQueueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor worker : workers) {
+            depth += worker.getQueue().size();
+        }
+        return depth;
+    }
+
+    long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recruitment.events.status.queue.depth", this, ApplicationStatusEventMulticaster::getQueueDepth)
+                .description("Status events waiting for a worker")
+                .register(registry);
+        FunctionCounter.builder("recruitment.events.status.dropped", droppedEvents, AtomicLong::get)
+                .description("Status events dropped because the queue of their worker was full")
+                .register(registry);
+        lagTimer = Timer.builder("recruitment.events.status.lag")
+                .description("Time between publishing a status event and a worker picking it up")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ThreadPoolExecutor worker : workers) {
+            worker.shutdown();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        for (ThreadPoolExecutor worker : workers) {
+            if (!worker.awaitTermination(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                LOG.warn("Dropping {} status events on shutdown", worker.shutdownNow().size());
+            }
+        }
+    }
+
+    private class DispatchTask implements Runnable {
+
+        private final ApplicationStatusEvent event;
+        private final Collection<ApplicationListener<?>> listeners;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private boolean dropped;
+
+        private DispatchTask(ApplicationStatusEvent event, Collection<ApplicationListener<?>> listeners) {
+            this.event = event;
+            this.listeners = listeners;
+        }
+
+        @Override
+        public void run() {
+            long queuedNanos = System.nanoTime() - enqueuedAt;
+            Timer timer = lagTimer;
+            if (timer != null) {
+                timer.record(queuedNanos, TimeUnit.NANOSECONDS);
+            }
+            ApplicationStatusDispatchEvent dispatchEvent = null;
+            if (jfrEnabled) {
+                dispatchEvent = new ApplicationStatusDispatchEvent();
+                dispatchEvent.begin();
+            }
+            RuntimeException failure = null;
+            for (ApplicationListener<?> listener : listeners) {
+                try {
+                    invokeListener(listener, event);
+                } catch (RuntimeException ex) {
+                    LOG.error("Status event listener failed for application with id - {}",
+                            event.getApplication().getId(), ex);
+                    failure = ex;
+                }
+            }
+            if (dispatchEvent != null) {
+                dispatchEvent.commit(event, listeners.size(), queuedNanos, failure != null);
+            }
+            if (failure == null) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        }
+    }
+}
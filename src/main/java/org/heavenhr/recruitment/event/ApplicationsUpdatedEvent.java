@@ -0,0 +1,20 @@
+package org.heavenhr.recruitment.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Set;
+
+/**
+ * Published when existing applications changed, carrying the ids of the offers they belong to.
+ */
+@Getter
+public class ApplicationsUpdatedEvent extends ApplicationEvent {
+
+    private final Set<Long> offerIds;
+
+    public ApplicationsUpdatedEvent(Object source, Set<Long> offerIds) {
+        super(source);
+        this.offerIds = offerIds;
+    }
+}
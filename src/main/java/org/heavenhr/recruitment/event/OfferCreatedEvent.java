@@ -0,0 +1,16 @@
+package org.heavenhr.recruitment.event;
+
+import lombok.Getter;
+import org.heavenhr.recruitment.entity.Offer;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class OfferCreatedEvent extends ApplicationEvent {
+
+    private final Offer offer;
+
+    public OfferCreatedEvent(Object source, Offer offer) {
+        super(source);
+        this.offer = offer;
+    }
+}
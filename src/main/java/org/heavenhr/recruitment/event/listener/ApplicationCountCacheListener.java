@@ -0,0 +1,30 @@
+package org.heavenhr.recruitment.event.listener;
+
+import org.heavenhr.recruitment.cache.ApplicationCountCache;
+import org.heavenhr.recruitment.event.ApplicationCountReconciledEvent;
+import org.heavenhr.recruitment.event.ApplicationCreatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@link ApplicationCountCache} in line with the offer counters once the changes are committed.
+ */
+@Component
+public class ApplicationCountCacheListener {
+
+    private final ApplicationCountCache applicationCountCache;
+
+    public ApplicationCountCacheListener(ApplicationCountCache applicationCountCache) {
+        this.applicationCountCache = applicationCountCache;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationCreated(ApplicationCreatedEvent applicationCreatedEvent) {
+        applicationCountCache.invalidate(applicationCreatedEvent.getApplication().getOffer().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationCountReconciled(ApplicationCountReconciledEvent applicationCountReconciledEvent) {
+        applicationCountCache.invalidateAll();
+    }
+}
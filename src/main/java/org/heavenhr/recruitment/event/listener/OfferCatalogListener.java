@@ -0,0 +1,29 @@
+package org.heavenhr.recruitment.event.listener;
+
+import org.heavenhr.recruitment.cache.OfferCatalog;
+import org.heavenhr.recruitment.cache.OfferVersionCache;
+import org.heavenhr.recruitment.event.OfferCreatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Adds created offers to {@link OfferCatalog} once they are committed. The ETag of the offer list is only moved
+ * forward after the new snapshot is in place, so it always describes a snapshot at least as new as itself.
+ */
+@Component
+public class OfferCatalogListener {
+
+    private final OfferCatalog offerCatalog;
+    private final OfferVersionCache offerVersionCache;
+
+    public OfferCatalogListener(OfferCatalog offerCatalog, OfferVersionCache offerVersionCache) {
+        this.offerCatalog = offerCatalog;
+        this.offerVersionCache = offerVersionCache;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferCreated(OfferCreatedEvent offerCreatedEvent) {
+        offerCatalog.add(offerCreatedEvent.getOffer());
+        offerVersionCache.incrementCatalog();
+    }
+}
@@ -0,0 +1,43 @@
+package org.heavenhr.recruitment.event.listener;
+
+import org.heavenhr.recruitment.cache.OfferVersionCache;
+import org.heavenhr.recruitment.event.ApplicationCountReconciledEvent;
+import org.heavenhr.recruitment.event.ApplicationCreatedEvent;
+import org.heavenhr.recruitment.event.ApplicationsUpdatedEvent;
+import org.heavenhr.recruitment.event.OfferCreatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Moves the counters of {@link OfferVersionCache} forward once the changes are committed, so a reader can never see
+ * a new ETag together with old data.
+ */
+@Component
+public class OfferVersionListener {
+
+    private final OfferVersionCache offerVersionCache;
+
+    public OfferVersionListener(OfferVersionCache offerVersionCache) {
+        this.offerVersionCache = offerVersionCache;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferCreated(OfferCreatedEvent offerCreatedEvent) {
+        offerVersionCache.increment(offerCreatedEvent.getOffer().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationCreated(ApplicationCreatedEvent applicationCreatedEvent) {
+        offerVersionCache.increment(applicationCreatedEvent.getApplication().getOffer().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationsUpdated(ApplicationsUpdatedEvent applicationsUpdatedEvent) {
+        applicationsUpdatedEvent.getOfferIds().forEach(offerVersionCache::increment);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationCountReconciled(ApplicationCountReconciledEvent applicationCountReconciledEvent) {
+        offerVersionCache.invalidateAll();
+    }
+}
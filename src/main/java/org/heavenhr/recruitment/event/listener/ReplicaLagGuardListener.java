@@ -0,0 +1,37 @@
+package org.heavenhr.recruitment.event.listener;
+
+import org.heavenhr.recruitment.datasource.ReplicaLagGuard;
+import org.heavenhr.recruitment.event.ApplicationCreatedEvent;
+import org.heavenhr.recruitment.event.ApplicationsUpdatedEvent;
+import org.heavenhr.recruitment.event.OfferCreatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records written offers with the {@link ReplicaLagGuard} while the writing transaction is still open, so the offer is
+ * already routed to the primary when the commit becomes visible to the client.
+ */
+@Component
+public class ReplicaLagGuardListener {
+
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public ReplicaLagGuardListener(ReplicaLagGuard replicaLagGuard) {
+        this.replicaLagGuard = replicaLagGuard;
+    }
+
+    @EventListener
+    public void onOfferCreated(OfferCreatedEvent offerCreatedEvent) {
+        replicaLagGuard.recordWrite(offerCreatedEvent.getOffer().getId());
+    }
+
+    @EventListener
+    public void onApplicationCreated(ApplicationCreatedEvent applicationCreatedEvent) {
+        replicaLagGuard.recordWrite(applicationCreatedEvent.getApplication().getOffer().getId());
+    }
+
+    @EventListener
+    public void onApplicationsUpdated(ApplicationsUpdatedEvent applicationsUpdatedEvent) {
+        applicationsUpdatedEvent.getOfferIds().forEach(replicaLagGuard::recordWrite);
+    }
+}
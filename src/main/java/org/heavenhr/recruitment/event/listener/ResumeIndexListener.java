@@ -0,0 +1,26 @@
+package org.heavenhr.recruitment.event.listener;
+
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.event.ApplicationCreatedEvent;
+import org.heavenhr.recruitment.search.ResumeIndex;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Adds the resume of every new application to {@link ResumeIndex} once the application is committed.
+ */
+@Component
+public class ResumeIndexListener {
+
+    private final ResumeIndex resumeIndex;
+
+    public ResumeIndexListener(ResumeIndex resumeIndex) {
+        this.resumeIndex = resumeIndex;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationCreated(ApplicationCreatedEvent applicationCreatedEvent) {
+        Application application = applicationCreatedEvent.getApplication();
+        resumeIndex.add(application.getOffer().getId(), application.getId(), application.getResumeText());
+    }
+}
@@ -0,0 +1,57 @@
+package org.heavenhr.recruitment.exception;
+
+/**
+ * Expected business errors, returned as {@code code} next to the message of an error response. Codes with a fixed
+ * message share one preallocated {@link RecruitmentBusinessException}, see {@link #exception()}.
+ */
+public enum ErrorCode {
+
+    OFFER_NOT_FOUND("Offer with given id does not exists."),
+    OFFER_TITLE_EXISTS("Offer with given title already exists."),
+    START_DATE_NOT_IN_FUTURE("Please select futuristic date."),
+    APPLICATION_NOT_FOUND("Application does not exists."),
+    DUPLICATE_APPLICATION("User with given email is already applied for this offer."),
+    STATUS_UPDATE_NOT_ALLOWED(null),
+    CONCURRENT_UPDATE("Application was updated concurrently, please retry.", true),
+    CONCURRENT_BATCH("Applications were created concurrently for this batch, please retry."),
+    INVALID_PAGE_SIZE("Page size should be greater than zero."),
+    EMPTY_SEARCH_QUERY("Search query should not be empty."),
+    INVALID_VIEW("View should be either full or summary."),
+    BUSINESS_ERROR(null);
+
+    private final String message;
+    private final RecruitmentBusinessException exception;
+
+    ErrorCode(String message) {
+        this(message, false);
+    }
+
+    ErrorCode(String message, boolean conflict) {
+        this.message = message;
+        if (message == null) {
+            this.exception = null;
+        } else {
+            this.exception = conflict ? new RecruitmentConflictException(this) : new RecruitmentBusinessException(this);
+        }
+    }
+
+    /**
+     * The message of the code, null if it depends on the request.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the shared exception of the code. They carry no stack trace, cause or request data, so throwing the same
+     * instance from several threads is safe.
+     *
+     * @throws IllegalStateException for codes without a fixed message.
+     */
+    public RecruitmentBusinessException exception() {
+        if (exception == null) {
+            throw new IllegalStateException(name() + " has no fixed message.");
+        }
+        return exception;
+    }
+}
@@ -1,16 +1,24 @@
 package org.heavenhr.recruitment.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
@@ -18,10 +26,26 @@ public class GlobalExceptionHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    static final String EXCEPTIONS_METRIC_NAME = "recruitment.exceptions";
+
+    private final MeterRegistry meterRegistry;
+    private final int logSampleRate;
+    private final AtomicLongArray occurrences = new AtomicLongArray(ErrorCode.values().length);
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry,
+                                  @Value("${recruitment.errors.log-sample-rate:100}") int logSampleRate) {
+        if (logSampleRate < 1) {
+            throw new IllegalArgumentException("Log sample rate should be greater than zero.");
+        }
+        this.meterRegistry = meterRegistry;
+        this.logSampleRate = logSampleRate;
+    }
+
     @ExceptionHandler
     @ResponseBody
     @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
     public Map handle(MethodArgumentNotValidException exception) {
+        count(exception, HttpStatus.UNPROCESSABLE_ENTITY);
         return error(exception.getBindingResult().getFieldErrors()
                 .stream()
                 .map(error -> error.getField() + " : " + error.getDefaultMessage())
@@ -31,19 +55,75 @@ public class GlobalExceptionHandler {
     @ExceptionHandler
     @ResponseBody
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public Map handle(RecruitmentBusinessException exception) {
-        LOG.error("Recruitment business exception", exception);
-        return Collections.singletonMap("error", exception.getMessage());
+    public Map handle(RecruitmentBusinessException exception, HttpServletRequest request) {
+        count(exception, HttpStatus.BAD_REQUEST);
+        logSampled(exception, HttpStatus.BAD_REQUEST, request);
+        return error(exception);
+    }
+
+    @ExceptionHandler
+    @ResponseBody
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map handle(RecruitmentConflictException exception, HttpServletRequest request) {
+        count(exception, HttpStatus.CONFLICT);
+        logSampled(exception, HttpStatus.CONFLICT, request);
+        return error(exception);
+    }
+
+    @ExceptionHandler
+    @ResponseBody
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map handle(OptimisticLockingFailureException exception) {
+        count(exception, HttpStatus.CONFLICT);
+        LOG.warn("Optimistic locking failure - {}", exception.getMessage());
+        return Collections.singletonMap("error", "Data was updated concurrently, please retry.");
+    }
+
+    @ExceptionHandler({RejectedExecutionException.class, AsyncRequestTimeoutException.class})
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map handleBusy(Exception exception) {
+        count(exception, HttpStatus.SERVICE_UNAVAILABLE);
+        LOG.warn("Request could not be served in time - {}", exception.getClass().getSimpleName());
+        return Collections.singletonMap("error", "Service is busy, please retry.");
     }
 
     @ExceptionHandler
     @ResponseBody
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map handle(Exception exception) {
+        count(exception, HttpStatus.INTERNAL_SERVER_ERROR);
         LOG.error("Exception", exception);
         return Collections.singletonMap("error", exception.getMessage());
     }
 
+    private void count(Exception exception, HttpStatus status) {
+        meterRegistry.counter(EXCEPTIONS_METRIC_NAME,
+                "exception", exception.getClass().getSimpleName(),
+                "status", String.valueOf(status.value()))
+                .increment();
+    }
+
+    /**
+     * Business errors are expected, so instead of a stack trace one line of key value pairs is logged for the first and
+     * then every {@code recruitment.errors.log-sample-rate}-th error of each code, with the number of errors so far.
+     */
+    private void logSampled(RecruitmentBusinessException exception, HttpStatus status, HttpServletRequest request) {
+        ErrorCode errorCode = exception.getErrorCode();
+        long occurrence = occurrences.incrementAndGet(errorCode.ordinal());
+        if ((occurrence - 1) % logSampleRate == 0 && LOG.isInfoEnabled()) {
+            LOG.info("business_error code={} status={} method={} path={} occurrences={} message=\"{}\"", errorCode,
+                    status.value(), request.getMethod(), request.getRequestURI(), occurrence, exception.getMessage());
+        }
+    }
+
+    private Map error(RecruitmentBusinessException exception) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", exception.getMessage());
+        error.put("code", exception.getErrorCode());
+        return error;
+    }
+
     private Map error(Object message) {
         return Collections.singletonMap("error", message);
     }
@@ -1,16 +1,40 @@
 package org.heavenhr.recruitment.exception;
 
+/**
+ * Expected outcome of a request which is answered with an error, like a missing offer or a duplicate application. It
+ * does not record a stack trace: it is thrown on routine requests and never logged with one, so filling it in would
+ * only cost time.
+ */
 public class RecruitmentBusinessException extends RuntimeException {
 
+    private final ErrorCode errorCode;
+
     public RecruitmentBusinessException(String message) {
-        super(message);
+        this(ErrorCode.BUSINESS_ERROR, message, null);
     }
 
     public RecruitmentBusinessException(String message, Throwable throwable) {
-        super(message, throwable);
+        this(ErrorCode.BUSINESS_ERROR, message, throwable);
     }
 
     public RecruitmentBusinessException(Throwable throwable) {
-        super((throwable));
+        this(ErrorCode.BUSINESS_ERROR, throwable == null ? null : throwable.toString(), throwable);
+    }
+
+    public RecruitmentBusinessException(ErrorCode errorCode, String message) {
+        this(errorCode, message, null);
+    }
+
+    RecruitmentBusinessException(ErrorCode errorCode) {
+        this(errorCode, errorCode.getMessage(), null);
+    }
+
+    RecruitmentBusinessException(ErrorCode errorCode, String message, Throwable throwable) {
+        super(message, throwable, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
     }
 }
@@ -0,0 +1,16 @@
+package org.heavenhr.recruitment.exception;
+
+/**
+ * Raised when a write lost against a concurrent change of the same data, answered with 409 so that the client can
+ * reload and retry.
+ */
+public class RecruitmentConflictException extends RecruitmentBusinessException {
+
+    public RecruitmentConflictException(String message) {
+        super(ErrorCode.CONCURRENT_UPDATE, message);
+    }
+
+    RecruitmentConflictException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
@@ -0,0 +1,102 @@
+package org.heavenhr.recruitment.executor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.heavenhr.recruitment.metrics.RequestTiming;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Loads the data of the read endpoints on a dedicated, bounded pool and releases the request thread meanwhile. When
+ * the database slows down only this pool fills up: reads beyond its queue are refused with 503 right away and reads
+ * waiting longer than {@code timeout-ms} are answered with 503, while writes and all other endpoints keep their
+ * request threads. Enabled with the {@value #PROFILE} profile.
+ */
+@Component
+@Profile(BoundedReadExecutor.PROFILE)
+public class BoundedReadExecutor implements ReadExecutor, MeterBinder, DisposableBean {
+
+    public static final String PROFILE = "async-reads";
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final AtomicLong rejectedReads = new AtomicLong();
+
+    public BoundedReadExecutor(@Value("${recruitment.reads.threads:32}") int threads,
+                               @Value("${recruitment.reads.queue-capacity:100}") int queueCapacity,
+                               @Value("${recruitment.reads.timeout-ms:10000}") long timeoutMs) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Read threads and queue capacity should be greater than zero.");
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "read-" + threadCount.incrementAndGet()));
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public Object execute(Supplier<ResponseEntity> read) {
+        DeferredResult<ResponseEntity> result = new DeferredResult<>(timeoutMs);
+        RequestTiming timing = RequestTiming.current();
+        try {
+            executor.execute(() -> {
+                if (result.isSetOrExpired()) {
+                    return;
+                }
+                RequestTiming previous = RequestTiming.bind(timing);
+                try {
+                    result.setResult(read.get());
+                } catch (RuntimeException ex) {
+                    result.setErrorResult(ex);
+                } finally {
+                    RequestTiming.bind(previous);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedReads.incrementAndGet();
+            throw ex;
+        }
+        return result;
+    }
+
+    int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    long getRejectedReads() {
+        return rejectedReads.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recruitment.reads.queue.depth", this, BoundedReadExecutor::getQueueDepth)
+                .description("Reads waiting for a thread of the read pool")
+                .register(registry);
+        Gauge.builder("recruitment.reads.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Reads being executed by the read pool")
+                .register(registry);
+        FunctionCounter.builder("recruitment.reads.rejected", rejectedReads, AtomicLong::get)
+                .description("Reads refused because the queue of the read pool was full")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
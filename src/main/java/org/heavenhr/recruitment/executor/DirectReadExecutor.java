@@ -0,0 +1,20 @@
+package org.heavenhr.recruitment.executor;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Loads the data on the request thread, the default.
+ */
+@Component
+@Profile("!" + BoundedReadExecutor.PROFILE)
+public class DirectReadExecutor implements ReadExecutor {
+
+    @Override
+    public Object execute(Supplier<ResponseEntity> read) {
+        return read.get();
+    }
+}
@@ -0,0 +1,14 @@
+package org.heavenhr.recruitment.executor;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * Decides on which threads the read endpoints load their data. The returned value is handed back to Spring MVC as the
+ * result of the handler method, so it is either the response itself or an asynchronous result producing it.
+ */
+public interface ReadExecutor {
+
+    Object execute(Supplier<ResponseEntity> read);
+}
@@ -0,0 +1,22 @@
+package org.heavenhr.recruitment.id;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Passes {@code recruitment.id.node-id} to {@link SnowflakeIdentifierGenerator}.
+ */
+@Configuration
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer nodeIdCustomizer(@Value("${recruitment.id.node-id:0}") int nodeId) {
+        if (nodeId < 0 || nodeId > SnowflakeIdGenerator.MAX_NODE_ID) {
+            throw new IllegalArgumentException("recruitment.id.node-id should be between 0 and "
+                    + SnowflakeIdGenerator.MAX_NODE_ID + ".");
+        }
+        return hibernateProperties -> hibernateProperties.put(SnowflakeIdentifierGenerator.NODE_ID, nodeId);
+    }
+}
@@ -0,0 +1,74 @@
+package org.heavenhr.recruitment.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time ordered 64 bit ids made of 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node id and a 12 bit
+ * sequence, so ids of one node grow with time and several nodes never create the same id. The last timestamp and
+ * sequence are kept in a single {@link AtomicLong} and advanced with compare-and-set, callers never block.
+ * <p>
+ * The timestamp is a logical clock: it follows the wall clock while it moves forward, keeps counting from the last
+ * timestamp if the clock goes back and borrows the next millisecond once the sequence of a millisecond is used up.
+ * The sequence is not reset when the millisecond changes, so the low bits of ids created one per millisecond still
+ * spread evenly over shards.
+ */
+public class SnowflakeIdGenerator {
+
+    /**
+     * 2019-01-01T00:00:00Z, ids stay positive for 69 years after it.
+     */
+    public static final long EPOCH = 1546300800000L;
+
+    public static final int MAX_NODE_ID = 1023;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id should be between 0 and " + MAX_NODE_ID + ".");
+        }
+        this.node = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long now = Math.max(0L, clock.getAsLong() - EPOCH);
+            long next = now > current >>> SEQUENCE_BITS
+                    ? now << SEQUENCE_BITS | ((current + 1) & MAX_SEQUENCE)
+                    : current + 1;
+            if (state.compareAndSet(current, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node | (next & MAX_SEQUENCE);
+            }
+        }
+    }
+
+    /**
+     * Makes sure all following ids are greater than {@code id}, used after a restart with the highest stored id in case
+     * the clock is now behind the clock that created it.
+     */
+    public void advancePast(long id) {
+        long last = (id >>> (NODE_BITS + SEQUENCE_BITS)) << SEQUENCE_BITS | (id & MAX_SEQUENCE);
+        state.accumulateAndGet(last, Math::max);
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,72 @@
+package org.heavenhr.recruitment.id;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Hibernate generator assigning {@link SnowflakeIdGenerator} ids without a round trip to the database, so inserts can
+ * be batched. The node id is taken from the {@link #NODE_ID} setting and has to be unique per running instance. Before
+ * the first id the highest id stored in the table is read once, ids created by a previous run with a clock ahead of
+ * the current one are then never repeated.
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator, Configurable {
+
+    /**
+     * Hibernate setting with the node id of this instance, zero if missing.
+     */
+    public static final String NODE_ID = "recruitment.id.node-id";
+
+    private SnowflakeIdGenerator generator;
+    private String maxIdSql;
+    private volatile boolean initialized;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        int nodeId = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(NODE_ID, value -> Integer.valueOf(value.toString()), 0);
+        generator = new SnowflakeIdGenerator(nodeId);
+        maxIdSql = "select max(" + params.getProperty(PersistentIdentifierGenerator.PK) + ") from "
+                + params.getProperty(PersistentIdentifierGenerator.TABLE);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (!initialized) {
+            initialize(session);
+        }
+        return generator.nextId();
+    }
+
+    private synchronized void initialize(SharedSessionContractImplementor session) {
+        if (initialized) {
+            return;
+        }
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(maxIdSql);
+        try {
+            ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract(statement);
+            if (resultSet.next()) {
+                generator.advancePast(resultSet.getLong(1));
+            }
+        } catch (SQLException ex) {
+            throw new HibernateException("Could not read the highest id with: " + maxIdSql, ex);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+        initialized = true;
+    }
+}
@@ -0,0 +1,57 @@
+package org.heavenhr.recruitment.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import org.heavenhr.recruitment.event.ApplicationStatusEvent;
+
+/**
+ * Delivery of an {@link ApplicationStatusEvent} to its listeners on a worker thread.
+ */
+@Name(ApplicationStatusDispatchEvent.NAME)
+@Label("Application Status Dispatch")
+@Category({"Recruitment", "Status Events"})
+@Description("Status event delivered to its listeners")
+public class ApplicationStatusDispatchEvent extends Event {
+
+    public static final String NAME = "org.heavenhr.recruitment.ApplicationStatusDispatch";
+
+    @Label("Application Id")
+    long applicationId;
+
+    @Label("Old Status")
+    String oldStatus;
+
+    @Label("New Status")
+    String newStatus;
+
+    @Label("Listeners")
+    int listenerCount;
+
+    @Label("Queued")
+    @Description("Time the event waited for the worker")
+    @Timespan(Timespan.NANOSECONDS)
+    long queuedNanos;
+
+    @Label("Failed")
+    @Description("A listener threw")
+    boolean failed;
+
+    /**
+     * Commits the event if it was enabled and, with a threshold, took long enough.
+     */
+    public void commit(ApplicationStatusEvent event, int listenerCount, long queuedNanos, boolean failed) {
+        if (shouldCommit()) {
+            this.applicationId = ApplicationStatusPublishEvent.idOf(event);
+            this.oldStatus = String.valueOf(event.getOldStatus());
+            this.newStatus = String.valueOf(event.getNewStatus());
+            this.listenerCount = listenerCount;
+            this.queuedNanos = queuedNanos;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.heavenhr.recruitment.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.heavenhr.recruitment.event.ApplicationStatusEvent;
+
+/**
+ * Hand over of an {@link ApplicationStatusEvent} to the worker of its application, including the wait for space in a
+ * full queue.
+ */
+@Name(ApplicationStatusPublishEvent.NAME)
+@Label("Application Status Publish")
+@Category({"Recruitment", "Status Events"})
+@Description("Status event handed over to its worker")
+public class ApplicationStatusPublishEvent extends Event {
+
+    public static final String NAME = "org.heavenhr.recruitment.ApplicationStatusPublish";
+
+    @Label("Application Id")
+    long applicationId;
+
+    @Label("Old Status")
+    String oldStatus;
+
+    @Label("New Status")
+    String newStatus;
+
+    @Label("Listeners")
+    int listenerCount;
+
+    @Label("Dropped")
+    @Description("The queue of the worker stayed full and the event was dropped")
+    boolean dropped;
+
+    /**
+     * Commits the event if it was enabled and, with a threshold, took long enough.
+     */
+    public void commit(ApplicationStatusEvent event, int listenerCount, boolean dropped) {
+        if (shouldCommit()) {
+            this.applicationId = idOf(event);
+            this.oldStatus = String.valueOf(event.getOldStatus());
+            this.newStatus = String.valueOf(event.getNewStatus());
+            this.listenerCount = listenerCount;
+            this.dropped = dropped;
+            commit();
+        }
+    }
+
+    static long idOf(ApplicationStatusEvent event) {
+        Long id = event.getApplication().getId();
+        return id == null ? 0L : id;
+    }
+}
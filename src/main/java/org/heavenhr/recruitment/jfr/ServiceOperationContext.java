@@ -0,0 +1,56 @@
+package org.heavenhr.recruitment.jfr;
+
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+
+/**
+ * Details of the service operation running on the current thread that only the service knows, such as the status an
+ * application had before it was updated. Services report them here without knowing whether anything records them;
+ * when no operation is open, reporting does nothing.
+ * <p>
+ * Does not depend on Flight Recorder, so services can use it on any JVM.
+ */
+public final class ServiceOperationContext {
+
+    private static final ThreadLocal<ServiceOperationContext> CURRENT = new ThreadLocal<>();
+
+    private final ServiceOperationContext previous;
+    private ApplicationStatus oldStatus;
+    private ApplicationStatus newStatus;
+
+    private ServiceOperationContext(ServiceOperationContext previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Reports the status transition of the operation running on the current thread, if one is open.
+     */
+    public static void recordStatusTransition(ApplicationStatus oldStatus, ApplicationStatus newStatus) {
+        ServiceOperationContext context = CURRENT.get();
+        if (context != null) {
+            context.oldStatus = oldStatus;
+            context.newStatus = newStatus;
+        }
+    }
+
+    static ServiceOperationContext open() {
+        ServiceOperationContext context = new ServiceOperationContext(CURRENT.get());
+        CURRENT.set(context);
+        return context;
+    }
+
+    void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    ApplicationStatus getOldStatus() {
+        return oldStatus;
+    }
+
+    ApplicationStatus getNewStatus() {
+        return newStatus;
+    }
+}
@@ -0,0 +1,46 @@
+package org.heavenhr.recruitment.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One call of an application or offer service method, recorded by {@link ServiceOperationEventAspect}. Ids are zero
+ * and statuses null when the operation does not concern a single offer, application or status change.
+ */
+@Name(ServiceOperationEvent.NAME)
+@Label("Service Operation")
+@Category({"Recruitment", "Service"})
+@Description("Call of an application or offer service method")
+public class ServiceOperationEvent extends Event {
+
+    public static final String NAME = "org.heavenhr.recruitment.ServiceOperation";
+
+    @Label("Service")
+    String service;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Offer Id")
+    long offerId;
+
+    @Label("Application Id")
+    long applicationId;
+
+    @Label("Old Status")
+    String oldStatus;
+
+    @Label("New Status")
+    String newStatus;
+
+    @Label("Rows")
+    @Description("Applications or offers returned, counted or written")
+    long rowCount;
+
+    @Label("Error")
+    @Description("Error code or exception the operation failed with")
+    String error;
+}
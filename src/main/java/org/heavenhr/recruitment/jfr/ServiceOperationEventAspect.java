@@ -0,0 +1,150 @@
+package org.heavenhr.recruitment.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.heavenhr.recruitment.cache.OfferCatalog;
+import org.heavenhr.recruitment.exception.RecruitmentBusinessException;
+import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
+import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
+import org.heavenhr.recruitment.model.response.ApplicationCountResponse;
+import org.heavenhr.recruitment.model.response.ApplicationDetailsListResponse;
+import org.heavenhr.recruitment.model.response.ApplicationDetailsResponse;
+import org.heavenhr.recruitment.model.response.ApplicationSummaryListResponse;
+import org.heavenhr.recruitment.model.response.OfferDetailsListResponse;
+import org.heavenhr.recruitment.model.response.OfferDetailsResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Records a {@link ServiceOperationEvent} around every public method of the application and offer services. The
+ * offer id, application id and new status are taken from the arguments named {@code offerId} and
+ * {@code applicationId} (the {@code id} of an offer service method) and from the request or response; the old status
+ * is reported by the service through {@link ServiceOperationContext#recordStatusTransition}. Rows are the
+ * applications or offers returned, counted or streamed.
+ * <p>
+ * When the event is not enabled in a running recording the method is called right away and nothing is allocated.
+ * Switched off with {@code recruitment.jfr.enabled=false} and left out on a JVM without Flight Recorder.
+ */
+@Aspect
+@Component
+@ConditionalOnClass(name = "jdk.jfr.Event")
+@ConditionalOnProperty(name = "recruitment.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceOperationEventAspect {
+
+    private final ConcurrentMap<Method, String[]> parameterNames = new ConcurrentHashMap<>();
+
+    @Around("execution(public * org.heavenhr.recruitment.service.Impl.ApplicationServiceImpl.*(..))"
+            + " || execution(public * org.heavenhr.recruitment.service.Impl.OfferServiceImpl.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        event.service = signature.getDeclaringType().getSimpleName();
+        event.operation = signature.getName();
+        Object[] args = joinPoint.getArgs();
+        String[] names = parameterNames.computeIfAbsent(signature.getMethod(), method -> signature.getParameterNames());
+        AtomicLong streamed = readArguments(event, names, args);
+
+        ServiceOperationContext context = ServiceOperationContext.open();
+        event.begin();
+        try {
+            Object result = joinPoint.proceed(args);
+            readResult(event, result);
+            if (streamed != null) {
+                event.rowCount = streamed.get();
+            }
+            return result;
+        } catch (Throwable throwable) {
+            event.error = throwable instanceof RecruitmentBusinessException
+                    ? ((RecruitmentBusinessException) throwable).getErrorCode().name()
+                    : throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            event.end();
+            readContext(event, context);
+            context.close();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Returns the counter of the rows passed to a consumer argument, which is replaced by a counting one.
+     */
+    @SuppressWarnings("unchecked")
+    private static AtomicLong readArguments(ServiceOperationEvent event, String[] names, Object[] args) {
+        AtomicLong streamed = null;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            String name = names == null ? null : names[i];
+            if (arg instanceof Long && ("offerId".equals(name)
+                    || ("id".equals(name) && "OfferServiceImpl".equals(event.service)))) {
+                event.offerId = (Long) arg;
+            } else if (arg instanceof Long && "applicationId".equals(name)) {
+                event.applicationId = (Long) arg;
+            } else if (arg instanceof CreateApplicationRequest) {
+                Long offerId = ((CreateApplicationRequest) arg).getOfferId();
+                event.offerId = offerId == null ? 0L : offerId;
+            } else if (arg instanceof UpdateApplicationRequest && ((UpdateApplicationRequest) arg).getStatus() != null) {
+                event.newStatus = ((UpdateApplicationRequest) arg).getStatus().name();
+            } else if (arg instanceof Consumer) {
+                AtomicLong counter = new AtomicLong();
+                Consumer<Object> consumer = (Consumer<Object>) arg;
+                args[i] = (Consumer<Object>) value -> {
+                    counter.incrementAndGet();
+                    consumer.accept(value);
+                };
+                streamed = counter;
+            }
+        }
+        return streamed;
+    }
+
+    private static void readContext(ServiceOperationEvent event, ServiceOperationContext context) {
+        if (context.getOldStatus() != null) {
+            event.oldStatus = context.getOldStatus().name();
+        }
+        if (context.getNewStatus() != null) {
+            event.newStatus = context.getNewStatus().name();
+        }
+    }
+
+    private static void readResult(ServiceOperationEvent event, Object result) {
+        if (result instanceof ApplicationDetailsResponse) {
+            ApplicationDetailsResponse application = (ApplicationDetailsResponse) result;
+            event.applicationId = application.getId() == null ? 0L : application.getId();
+            if (application.getOffer() != null && application.getOffer().getId() != null) {
+                event.offerId = application.getOffer().getId();
+            }
+            event.newStatus = application.getStatus();
+            event.rowCount = 1;
+        } else if (result instanceof OfferDetailsResponse) {
+            Long offerId = ((OfferDetailsResponse) result).getId();
+            event.offerId = offerId == null ? 0L : offerId;
+            event.rowCount = 1;
+        } else if (result instanceof ApplicationDetailsListResponse) {
+            event.rowCount = ((ApplicationDetailsListResponse) result).getApplications().size();
+        } else if (result instanceof ApplicationSummaryListResponse) {
+            event.rowCount = ((ApplicationSummaryListResponse) result).getApplications().size();
+        } else if (result instanceof ApplicationCountResponse) {
+            event.rowCount = ((ApplicationCountResponse) result).getNoOfApplications();
+        } else if (result instanceof OfferDetailsListResponse) {
+            event.rowCount = ((OfferDetailsListResponse) result).getOffers().size();
+        } else if (result instanceof OfferCatalog.Page) {
+            event.rowCount = ((OfferCatalog.Page) result).getOfferCount();
+        }
+    }
+}
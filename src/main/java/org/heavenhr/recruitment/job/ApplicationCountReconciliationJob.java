@@ -0,0 +1,49 @@
+package org.heavenhr.recruitment.job;
+
+import org.heavenhr.recruitment.datasource.ShardRouting;
+import org.heavenhr.recruitment.event.ApplicationCountReconciledEvent;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs drift between the maintained {@code noOfJobApplications} counter of an offer and the actual number of
+ * application rows, e.g. after rows were inserted or deleted outside of the application service.
+ */
+@Component
+public class ApplicationCountReconciliationJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApplicationCountReconciliationJob.class);
+
+    private final OfferRepository offerRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ShardRouting shardRouting;
+
+    public ApplicationCountReconciliationJob(OfferRepository offerRepository,
+                                             ApplicationEventPublisher applicationEventPublisher,
+                                             ShardRouting shardRouting) {
+        this.offerRepository = offerRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.shardRouting = shardRouting;
+    }
+
+    /**
+     * Every shard counts its own applications, so the counter of an offer is right on the shard holding them.
+     */
+    @Scheduled(initialDelayString = "${recruitment.offer.application-count.reconciliation-interval-ms:300000}",
+            fixedDelayString = "${recruitment.offer.application-count.reconciliation-interval-ms:300000}")
+    public int reconcile() {
+        int repairedOffers = 0;
+        for (int shard = 0; shard < shardRouting.getShardCount(); shard++) {
+            repairedOffers += shardRouting.onShard(shard, offerRepository::reconcileNoOfJobApplications);
+        }
+        if (repairedOffers > 0) {
+            LOG.warn("Repaired application count of {} offers", repairedOffers);
+            applicationEventPublisher.publishEvent(new ApplicationCountReconciledEvent(this));
+        }
+        return repairedOffers;
+    }
+}
@@ -0,0 +1,66 @@
+package org.heavenhr.recruitment.job;
+
+import org.heavenhr.recruitment.cache.ApplicationEmailFilter;
+import org.heavenhr.recruitment.datasource.ShardRouting;
+import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.projection.ApplicationEmail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Adds the offer id and email of all stored applications to {@link ApplicationEmailFilter} when the application
+ * starts. Applications created meanwhile are added by the services, so the filter is complete once this returns.
+ */
+@Component
+public class ApplicationEmailFilterSeedJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApplicationEmailFilterSeedJob.class);
+
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationEmailFilter applicationEmailFilter;
+    private final ShardRouting shardRouting;
+    private final TransactionTemplate transactionTemplate;
+
+    public ApplicationEmailFilterSeedJob(ApplicationRepository applicationRepository,
+                                         ApplicationEmailFilter applicationEmailFilter, ShardRouting shardRouting,
+                                         PlatformTransactionManager transactionManager) {
+        this.applicationRepository = applicationRepository;
+        this.applicationEmailFilter = applicationEmailFilter;
+        this.shardRouting = shardRouting;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public int seed() {
+        long start = System.currentTimeMillis();
+        int seeded = 0;
+        for (int shard = 0; shard < shardRouting.getShardCount(); shard++) {
+            seeded += shardRouting.onShard(shard, this::seedShard);
+        }
+        applicationEmailFilter.markSeeded();
+        LOG.info("Seeded duplicate application filter with {} applications in {} ms", seeded,
+                System.currentTimeMillis() - start);
+        return seeded;
+    }
+
+    private int seedShard() {
+        return transactionTemplate.execute(status -> {
+            int added = 0;
+            try (Stream<ApplicationEmail> emails = applicationRepository.streamAllEmails()) {
+                for (ApplicationEmail email : (Iterable<ApplicationEmail>) emails::iterator) {
+                    applicationEmailFilter.put(email.getOfferId(), email.getEmail());
+                    added++;
+                }
+            }
+            return added;
+        });
+    }
+}
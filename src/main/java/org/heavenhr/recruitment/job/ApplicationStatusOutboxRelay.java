@@ -0,0 +1,188 @@
+package org.heavenhr.recruitment.job;
+
+import org.heavenhr.recruitment.datasource.ShardRouting;
+import org.heavenhr.recruitment.entity.ApplicationStatusOutbox;
+import org.heavenhr.recruitment.event.ApplicationStatusEvent;
+import org.heavenhr.recruitment.event.ApplicationStatusEventMulticaster;
+import org.heavenhr.recruitment.mapper.ApplicationMapper;
+import org.heavenhr.recruitment.repository.ApplicationStatusOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Delivers the status changes recorded in the outbox to the {@link ApplicationStatusEvent} listeners. Rows are read in
+ * batches following their id and handed to the ordered workers of {@link ApplicationStatusEventMulticaster}; a row is
+ * only sent once every earlier row of its application was delivered, and only flagged as delivered once all listeners
+ * returned, so listeners must cope with seeing an event more than once. Events are built from the row alone.
+ */
+@Component
+public class ApplicationStatusOutboxRelay {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApplicationStatusOutboxRelay.class);
+
+    private final ApplicationStatusOutboxRepository applicationStatusOutboxRepository;
+    private final ApplicationStatusEventMulticaster applicationStatusEventMulticaster;
+    private final ShardRouting shardRouting;
+    private final int batchSize;
+    private final long dispatchTimeoutMs;
+    private final long retentionMs;
+
+    public ApplicationStatusOutboxRelay(ApplicationStatusOutboxRepository applicationStatusOutboxRepository,
+                                        ApplicationStatusEventMulticaster applicationStatusEventMulticaster,
+                                        ShardRouting shardRouting,
+                                        @Value("${recruitment.outbox.batch-size:500}") int batchSize,
+                                        @Value("${recruitment.outbox.dispatch-timeout-ms:30000}") long dispatchTimeoutMs,
+                                        @Value("${recruitment.outbox.retention-hours:24}") long retentionHours) {
+        this.applicationStatusOutboxRepository = applicationStatusOutboxRepository;
+        this.applicationStatusEventMulticaster = applicationStatusEventMulticaster;
+        this.shardRouting = shardRouting;
+        this.batchSize = batchSize;
+        this.dispatchTimeoutMs = dispatchTimeoutMs;
+        this.retentionMs = TimeUnit.HOURS.toMillis(retentionHours);
+    }
+
+    @Scheduled(initialDelayString = "${recruitment.outbox.relay-interval-ms:1000}",
+            fixedDelayString = "${recruitment.outbox.relay-interval-ms:1000}")
+    public int relay() {
+        int relayed = 0;
+        for (int shard = 0; shard < shardRouting.getShardCount(); shard++) {
+            relayed += shardRouting.onShard(shard, this::relayShard);
+        }
+        return relayed;
+    }
+
+    @Scheduled(initialDelayString = "${recruitment.outbox.purge-interval-ms:3600000}",
+            fixedDelayString = "${recruitment.outbox.purge-interval-ms:3600000}")
+    public int purge() {
+        Timestamp deliveredBefore = new Timestamp(System.currentTimeMillis() - retentionMs);
+        int purged = 0;
+        for (int shard = 0; shard < shardRouting.getShardCount(); shard++) {
+            purged += shardRouting.onShard(shard, () ->
+                    applicationStatusOutboxRepository.deleteDelivered(deliveredBefore));
+        }
+        return purged;
+    }
+
+    /**
+     * Status changes are recorded on the shard of their application, so every shard has an outbox of its own. Rows of
+     * an application that failed are skipped until the next run, the rows of all other applications are still relayed.
+     */
+    private int relayShard() {
+        int relayed = 0;
+        int pending = 0;
+        long cursor = 0L;
+        Set<Long> blockedApplicationIds = new HashSet<>();
+        List<ApplicationStatusOutbox> statusChanges;
+        do {
+            statusChanges = applicationStatusOutboxRepository.findByDeliveredFalseAndIdGreaterThanOrderByIdAsc(cursor,
+                    PageRequest.of(0, batchSize));
+            if (statusChanges.isEmpty()) {
+                break;
+            }
+            cursor = statusChanges.get(statusChanges.size() - 1).getId();
+
+            List<Long> deliveredIds = deliver(statusChanges, blockedApplicationIds);
+            if (!deliveredIds.isEmpty()) {
+                applicationStatusOutboxRepository.markDelivered(deliveredIds,
+                        new Timestamp(System.currentTimeMillis()));
+                relayed += deliveredIds.size();
+            }
+            pending += statusChanges.size() - deliveredIds.size();
+        } while (statusChanges.size() == batchSize);
+
+        if (pending > 0) {
+            // Leave the failed rows for the next run instead of retrying them in a tight loop.
+            LOG.warn("Failed to relay {} status changes of {} applications, retrying on next run", pending,
+                    blockedApplicationIds.size());
+        }
+        return relayed;
+    }
+
+    /**
+     * Returns the ids of the rows that were delivered. Only the oldest pending row of each application is handed to
+     * the multicaster at a time, and the next one follows once it was delivered. When a row fails, its application is
+     * added to the blocked ones and none of its later rows are sent, so they never overtake it.
+     */
+    private List<Long> deliver(List<ApplicationStatusOutbox> statusChanges, Set<Long> blockedApplicationIds) {
+        Map<Long, Deque<ApplicationStatusOutbox>> pendingByApplicationId = new LinkedHashMap<>();
+        for (ApplicationStatusOutbox statusChange : statusChanges) {
+            if (!blockedApplicationIds.contains(statusChange.getApplicationId())) {
+                pendingByApplicationId.computeIfAbsent(statusChange.getApplicationId(),
+                        applicationId -> new ArrayDeque<>()).add(statusChange);
+            }
+        }
+
+        List<Long> deliveredIds = new ArrayList<>(statusChanges.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(dispatchTimeoutMs);
+        boolean waiting = true;
+        while (waiting && !pendingByApplicationId.isEmpty()) {
+            List<ApplicationStatusOutbox> sent = new ArrayList<>(pendingByApplicationId.size());
+            List<CompletableFuture<Void>> results = new ArrayList<>(pendingByApplicationId.size());
+            for (Deque<ApplicationStatusOutbox> rows : pendingByApplicationId.values()) {
+                ApplicationStatusOutbox statusChange = rows.peek();
+                sent.add(statusChange);
+                results.add(applicationStatusEventMulticaster.dispatch(new ApplicationStatusEvent(this,
+                        ApplicationMapper.mapApplicationStatusOutboxToApplication(statusChange),
+                        statusChange.getOldStatus(), statusChange.getNewStatus())));
+            }
+
+            waiting = await(results, deadline);
+
+            for (int i = 0; i < sent.size(); i++) {
+                Long applicationId = sent.get(i).getApplicationId();
+                CompletableFuture<Void> result = results.get(i);
+                if (result.isDone() && !result.isCompletedExceptionally()) {
+                    deliveredIds.add(sent.get(i).getId());
+                    Deque<ApplicationStatusOutbox> rows = pendingByApplicationId.get(applicationId);
+                    rows.poll();
+                    if (rows.isEmpty()) {
+                        pendingByApplicationId.remove(applicationId);
+                    }
+                } else {
+                    blockedApplicationIds.add(applicationId);
+                    pendingByApplicationId.remove(applicationId);
+                }
+            }
+        }
+        // Applications still waiting when time ran out keep their rows for the next run.
+        blockedApplicationIds.addAll(pendingByApplicationId.keySet());
+        return deliveredIds;
+    }
+
+    /**
+     * Waits for the results until the deadline and returns whether there is time left to send more rows.
+     */
+    private boolean await(List<CompletableFuture<Void>> results, long deadline) {
+        try {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            LOG.warn("Not all status changes were delivered", ex);
+        } catch (TimeoutException ex) {
+            LOG.warn("Not all status changes were delivered", ex);
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return System.nanoTime() < deadline;
+    }
+}
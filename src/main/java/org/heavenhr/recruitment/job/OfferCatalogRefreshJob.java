@@ -0,0 +1,81 @@
+package org.heavenhr.recruitment.job;
+
+import org.heavenhr.recruitment.cache.OfferCatalog;
+import org.heavenhr.recruitment.cache.OfferVersionCache;
+import org.heavenhr.recruitment.datasource.ShardRouting;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Merges offers that were inserted outside of the offer service into {@link OfferCatalog}, and copies offers of the
+ * first shard that are missing on the other shards because copying them on creation failed.
+ */
+@Component
+public class OfferCatalogRefreshJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OfferCatalogRefreshJob.class);
+
+    private final OfferCatalog offerCatalog;
+    private final OfferVersionCache offerVersionCache;
+    private final OfferRepository offerRepository;
+    private final ShardRouting shardRouting;
+
+    public OfferCatalogRefreshJob(OfferCatalog offerCatalog, OfferVersionCache offerVersionCache,
+                                  OfferRepository offerRepository, ShardRouting shardRouting) {
+        this.offerCatalog = offerCatalog;
+        this.offerVersionCache = offerVersionCache;
+        this.offerRepository = offerRepository;
+        this.shardRouting = shardRouting;
+    }
+
+    @Scheduled(initialDelayString = "${recruitment.cache.offer-catalog.refresh-interval-ms:60000}",
+            fixedDelayString = "${recruitment.cache.offer-catalog.refresh-interval-ms:60000}")
+    public boolean refresh() {
+        boolean changed = offerCatalog.refresh();
+        if (changed) {
+            LOG.info("Added offers created outside of the offer service to the catalog");
+            offerVersionCache.incrementCatalog();
+        }
+        return changed;
+    }
+
+    @Scheduled(initialDelayString = "${recruitment.cache.offer-catalog.refresh-interval-ms:60000}",
+            fixedDelayString = "${recruitment.cache.offer-catalog.refresh-interval-ms:60000}")
+    public int repairShardCopies() {
+        if (shardRouting.getShardCount() == 1) {
+            return 0;
+        }
+
+        Set<Long> offerIds = new HashSet<>(shardRouting.onShard(0, offerRepository::findAllIds));
+        int copied = 0;
+        for (int shard = 1; shard < shardRouting.getShardCount(); shard++) {
+            Set<Long> copiedIds = new HashSet<>(shardRouting.onShard(shard, offerRepository::findAllIds));
+            List<Long> missingIds = offerIds.stream()
+                    .filter(offerId -> !copiedIds.contains(offerId))
+                    .collect(Collectors.toList());
+            if (missingIds.isEmpty()) {
+                continue;
+            }
+
+            int targetShard = shard;
+            for (Offer offer : shardRouting.onShard(0, () -> offerRepository.findAllById(missingIds))) {
+                copied += shardRouting.onShard(targetShard, () ->
+                        offerRepository.insertCopy(offer.getId(), offer.getJobTitle(), offer.getStartDate()));
+            }
+        }
+
+        if (copied > 0) {
+            LOG.warn("Copied {} offers that were missing on other shards", copied);
+        }
+        return copied;
+    }
+}
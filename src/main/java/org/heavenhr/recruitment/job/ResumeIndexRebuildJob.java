@@ -0,0 +1,108 @@
+package org.heavenhr.recruitment.job;
+
+import org.heavenhr.recruitment.datasource.ShardRouting;
+import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.heavenhr.recruitment.repository.projection.ApplicationResumeText;
+import org.heavenhr.recruitment.search.ResumeIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Loads the resumes of all applications into {@link ResumeIndex} in the background once the application has started.
+ * Offers are indexed in parallel, each one streaming its resumes in a read only transaction. A failed rebuild is
+ * logged and leaves the index with what the incremental updates add; it never stops the application.
+ */
+@Component
+public class ResumeIndexRebuildJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResumeIndexRebuildJob.class);
+
+    private final OfferRepository offerRepository;
+    private final ApplicationRepository applicationRepository;
+    private final ResumeIndex resumeIndex;
+    private final ShardRouting shardRouting;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+
+    public ResumeIndexRebuildJob(OfferRepository offerRepository, ApplicationRepository applicationRepository,
+                                 ResumeIndex resumeIndex, ShardRouting shardRouting,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${recruitment.search.rebuild-parallelism:4}") int parallelism) {
+        this.offerRepository = offerRepository;
+        this.applicationRepository = applicationRepository;
+        this.resumeIndex = resumeIndex;
+        this.shardRouting = shardRouting;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.parallelism = parallelism;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (InterruptedException ex) {
+                LOG.warn("Resume index rebuild was interrupted");
+            } catch (Exception ex) {
+                LOG.error("Resume index rebuild failed", ex);
+            }
+        }, "resume-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int rebuild() throws InterruptedException, ExecutionException {
+        long start = System.currentTimeMillis();
+        List<Long> offerIds = offerRepository.findAllIds();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable ->
+                new Thread(runnable, "resume-index-rebuild-" + threadCount.incrementAndGet()));
+        try {
+            List<Future<Integer>> results = new ArrayList<>(offerIds.size());
+            for (Long offerId : offerIds) {
+                results.add(executor.submit(() -> indexOffer(offerId)));
+            }
+
+            int indexed = 0;
+            for (Future<Integer> result : results) {
+                indexed += result.get();
+            }
+            LOG.info("Indexed {} resumes of {} offers in {} ms", indexed, offerIds.size(),
+                    System.currentTimeMillis() - start);
+            return indexed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int indexOffer(Long offerId) {
+        return shardRouting.onShard(shardRouting.shardOf(offerId), () -> transactionTemplate.execute(status -> {
+            int indexed = 0;
+            try (Stream<ApplicationResumeText> resumes = applicationRepository.streamResumeTextsByOfferId(offerId)) {
+                for (ApplicationResumeText resume : (Iterable<ApplicationResumeText>) resumes::iterator) {
+                    resumeIndex.add(offerId, resume.getId(), resume.getResumeText());
+                    indexed++;
+                }
+            }
+            return indexed;
+        }));
+    }
+}
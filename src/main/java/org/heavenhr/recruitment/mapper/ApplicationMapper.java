@@ -2,12 +2,21 @@ package org.heavenhr.recruitment.mapper;
 
 import org.heavenhr.recruitment.entity.Application;
 import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.ApplicationStatusOutbox;
 import org.heavenhr.recruitment.entity.Offer;
 import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
 import org.heavenhr.recruitment.model.response.ApplicationCountResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsListResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsResponse;
+import org.heavenhr.recruitment.model.response.ApplicationSearchResultResponse;
+import org.heavenhr.recruitment.model.response.ApplicationSummaryListResponse;
+import org.heavenhr.recruitment.model.response.ApplicationSummaryResponse;
+import org.heavenhr.recruitment.model.response.BatchItemResponse;
+import org.heavenhr.recruitment.model.response.BatchItemResult;
+import org.heavenhr.recruitment.model.response.BatchResponse;
+import org.heavenhr.recruitment.repository.projection.ApplicationSummary;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,6 +31,31 @@ public class ApplicationMapper {
                 .build();
     }
 
+    public static ApplicationStatusOutbox mapApplicationStatusOutbox(Application application,
+                                                                     ApplicationStatus oldStatus,
+                                                                     ApplicationStatus newStatus) {
+        return ApplicationStatusOutbox.builder()
+                .applicationId(application.getId())
+                .offerId(application.getOffer().getId())
+                .email(application.getEmail())
+                .oldStatus(oldStatus)
+                .newStatus(newStatus)
+                .createdAt(new Timestamp(System.currentTimeMillis()))
+                .build();
+    }
+
+    /**
+     * Rebuilds the application as it was recorded with the status change; the resume is not part of it.
+     */
+    public static Application mapApplicationStatusOutboxToApplication(ApplicationStatusOutbox statusChange) {
+        return Application.builder()
+                .id(statusChange.getApplicationId())
+                .offer(Offer.builder().id(statusChange.getOfferId()).build())
+                .email(statusChange.getEmail())
+                .status(statusChange.getNewStatus())
+                .build();
+    }
+
     public static ApplicationDetailsResponse mapApplicationToResponse(Application application) {
         return ApplicationDetailsResponse.builder()
                 .email(application.getEmail())
@@ -40,7 +74,53 @@ public class ApplicationMapper {
                 .build();
     }
 
+    public static ApplicationSummaryResponse mapApplicationSummaryToResponse(ApplicationSummary summary) {
+        return ApplicationSummaryResponse.builder()
+                .id(summary.getId())
+                .email(summary.getEmail())
+                .status(summary.getStatus().name())
+                .build();
+    }
+
+    public static ApplicationSearchResultResponse mapApplicationSearchResultResponse(ApplicationSummary summary,
+                                                                                     float score) {
+        return ApplicationSearchResultResponse.builder()
+                .id(summary.getId())
+                .email(summary.getEmail())
+                .status(summary.getStatus().name())
+                .score(score)
+                .build();
+    }
+
+    public static ApplicationSummaryListResponse mapApplicationSummaryListToResponse(List<ApplicationSummary> summaries) {
+        return ApplicationSummaryListResponse.builder()
+                .applications(summaries.stream()
+                        .map(ApplicationMapper::mapApplicationSummaryToResponse)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     public static ApplicationCountResponse mapApplicationCountResponse(int count) {
         return ApplicationCountResponse.builder().noOfApplications(count).build();
     }
+
+    public static BatchItemResponse mapBatchItemResponse(int index, Long id, BatchItemResult result, String error) {
+        return BatchItemResponse.builder()
+                .index(index)
+                .id(id)
+                .result(result)
+                .error(error)
+                .build();
+    }
+
+    public static BatchResponse mapBatchResponse(List<BatchItemResponse> results) {
+        int failed = (int) results.stream()
+                .filter(item -> item.getResult() == BatchItemResult.FAILED)
+                .count();
+        return BatchResponse.builder()
+                .succeeded(results.size() - failed)
+                .failed(failed)
+                .results(results)
+                .build();
+    }
 }
@@ -28,10 +28,14 @@ public class OfferMapper {
     }
 
     public static OfferDetailsListResponse mapOfferListToResponseObject(Iterable<Offer> offers) {
+        return mapOfferListToResponseObject(offers, null);
+    }
+
+    public static OfferDetailsListResponse mapOfferListToResponseObject(Iterable<Offer> offers, Long nextCursor) {
         List<OfferDetailsResponse> responseList = new ArrayList<>();
         offers.forEach(offer -> {
             responseList.add(OfferMapper.mapOfferToResponseObject(offer));
         });
-        return OfferDetailsListResponse.builder().offers(responseList).build();
+        return OfferDetailsListResponse.builder().offers(responseList).nextCursor(nextCursor).build();
     }
 }
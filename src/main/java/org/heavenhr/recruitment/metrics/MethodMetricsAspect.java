@@ -0,0 +1,154 @@
+package org.heavenhr.recruitment.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the controllers, services and repositories as {@code recruitment.method}, tagged with
+ * the layer, the class, the method and the exception thrown ({@code none} on success). Together with
+ * {@code http.server.requests} this shows how the latency of a request splits over the layers and queries.
+ */
+@Aspect
+@Component
+public class MethodMetricsAspect {
+
+    static final String METRIC_NAME = "recruitment.method";
+
+    private static final String NO_EXCEPTION = "none";
+    private static final String BASE_PACKAGE = "org.heavenhr.recruitment";
+
+    private final MeterRegistry meterRegistry;
+    private final ClassValue<ClassTimers> timers = new ClassValue<ClassTimers>() {
+        @Override
+        protected ClassTimers computeValue(Class<?> type) {
+            return new ClassTimers(type);
+        }
+    };
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(org.heavenhr.recruitment.controller..*) && execution(public * *(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timePhase(RequestTiming.Phase.CONTROLLER, "controller", joinPoint);
+    }
+
+    @Around("within(org.heavenhr.recruitment.service..*) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timePhase(RequestTiming.Phase.SERVICE, "service", joinPoint);
+    }
+
+    @Around("bean(*Repository) && target(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("repository", joinPoint);
+    }
+
+    /**
+     * Also adds the time to the phase of the {@link RequestTiming} of the current request, if there is one.
+     */
+    private Object timePhase(RequestTiming.Phase phase, String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return time(layer, joinPoint);
+        }
+        timing.start(phase);
+        try {
+            return time(layer, joinPoint);
+        } finally {
+            timing.stop(phase);
+        }
+    }
+
+    private Object time(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Class<? extends Throwable> exception = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            exception = throwable.getClass();
+            throw throwable;
+        } finally {
+            MethodTimers methodTimers = timers.get(joinPoint.getTarget().getClass()).forMethod(layer,
+                    ((MethodSignature) joinPoint.getSignature()).getMethod());
+            Timer timer = exception == null ? methodTimers.success : methodTimers.forException(exception);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Repositories are JDK proxies, so their name is taken from the repository interface of the application instead.
+     */
+    private static String className(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            for (Class<?> anInterface : type.getInterfaces()) {
+                if (anInterface.getName().startsWith(BASE_PACKAGE)) {
+                    return anInterface.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(type).getSimpleName();
+    }
+
+    /**
+     * The timers of the methods of one target class. Methods are looked up by their {@link Method}, which is the same
+     * instance on every call, so recording a call allocates nothing once its timer exists.
+     */
+    private final class ClassTimers {
+
+        private final String className;
+        private final ConcurrentMap<Method, MethodTimers> methods = new ConcurrentHashMap<>();
+
+        private ClassTimers(Class<?> type) {
+            this.className = className(type);
+        }
+
+        private MethodTimers forMethod(String layer, Method method) {
+            MethodTimers methodTimers = methods.get(method);
+            return methodTimers != null ? methodTimers
+                    : methods.computeIfAbsent(method, key -> new MethodTimers(layer, className, key.getName()));
+        }
+    }
+
+    private final class MethodTimers {
+
+        private final String layer;
+        private final String className;
+        private final String method;
+        private final Timer success;
+        private final ConcurrentMap<Class<? extends Throwable>, Timer> exceptions = new ConcurrentHashMap<>();
+
+        private MethodTimers(String layer, String className, String method) {
+            this.layer = layer;
+            this.className = className;
+            this.method = method;
+            this.success = register(NO_EXCEPTION);
+        }
+
+        private Timer forException(Class<? extends Throwable> exception) {
+            return exceptions.computeIfAbsent(exception, type -> register(type.getSimpleName()));
+        }
+
+        private Timer register(String exception) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Time spent in controller, service and repository methods")
+                    .tag("layer", layer)
+                    .tag("class", className)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+}
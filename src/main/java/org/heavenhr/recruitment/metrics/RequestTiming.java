@@ -0,0 +1,127 @@
+package org.heavenhr.recruitment.metrics;
+
+/**
+ * Time spent by one request in each {@link Phase}, plus the number of SQL statements it executed. Phases are timed
+ * inclusively, so the service time contains the time of its statements, and a phase entered again while it is
+ * already running (a service calling another service) is only counted once. The timing of the current request is
+ * bound to the request thread by {@link ServerTimingFilter} and handed over to threads doing work for it.
+ * <p>
+ * The request owns the timing: a phase is only ever run by one thread at a time, so plain fields are enough.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    public enum Phase {
+
+        CONTROLLER("ctrl"),
+        SERVICE("svc"),
+        DB("db"),
+        SERIALIZATION("ser");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final long[] durations = new long[Phase.values().length];
+    private final long[] starts = new long[Phase.values().length];
+    private final int[] depths = new int[Phase.values().length];
+    private int statementCount;
+
+    /**
+     * Returns the timing of the request handled by the current thread, null if there is none.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds {@code timing} to the current thread and returns the previously bound one, to be restored with another
+     * call once the work for the request is done.
+     */
+    public static RequestTiming bind(RequestTiming timing) {
+        RequestTiming previous = CURRENT.get();
+        if (timing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timing);
+        }
+        return previous;
+    }
+
+    public void start(Phase phase) {
+        if (depths[phase.ordinal()]++ == 0) {
+            starts[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    public void stop(Phase phase) {
+        if (--depths[phase.ordinal()] == 0) {
+            durations[phase.ordinal()] += System.nanoTime() - starts[phase.ordinal()];
+        }
+    }
+
+    public void recordStatement(long nanos) {
+        statementCount++;
+        durations[Phase.DB.ordinal()] += nanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Time spent in the phase so far, including the running part if it was not stopped yet.
+     */
+    public long getNanos(Phase phase) {
+        long nanos = durations[phase.ordinal()];
+        if (depths[phase.ordinal()] > 0) {
+            nanos += System.nanoTime() - starts[phase.ordinal()];
+        }
+        return nanos;
+    }
+
+    public long getTotalNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the timing as the value of a {@code Server-Timing} header, in milliseconds.
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : Phase.values()) {
+            header.append(phase.metricName);
+            if (phase == Phase.DB) {
+                header.append(";desc=\"").append(statementCount).append(" statements\"");
+            }
+            appendMillis(header.append(";dur="), getNanos(phase)).append(", ");
+        }
+        return appendMillis(header.append("total;dur="), getTotalNanos()).toString();
+    }
+
+    /**
+     * Formats the timing as key value pairs for a log line, in milliseconds.
+     */
+    public String toLogFields() {
+        StringBuilder fields = new StringBuilder(128);
+        for (Phase phase : Phase.values()) {
+            appendMillis(fields.append(phase.metricName).append("_ms="), getNanos(phase)).append(' ');
+        }
+        fields.append("statements=").append(statementCount);
+        return appendMillis(fields.append(" total_ms="), getTotalNanos()).toString();
+    }
+
+    private static StringBuilder appendMillis(StringBuilder builder, long nanos) {
+        long hundredths = (nanos + 5000) / 10000;
+        builder.append(hundredths / 100).append('.');
+        if (hundredths % 100 < 10) {
+            builder.append('0');
+        }
+        return builder.append(hundredths % 100);
+    }
+}
@@ -0,0 +1,53 @@
+package org.heavenhr.recruitment.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.servlet.DispatcherType;
+import javax.sql.DataSource;
+
+/**
+ * Per request timing answered as {@code Server-Timing} header, see {@link ServerTimingFilter}. The data source is
+ * wrapped by {@link TimedDataSource} to count statements, and JSON bodies are written by
+ * {@link TimedJackson2HttpMessageConverter} to time serialization. Switched off with
+ * {@code recruitment.server-timing.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "recruitment.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfiguration {
+
+    @Bean
+    public static BeanPostProcessor timedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof TimedDataSource)) {
+                    return new TimedDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${recruitment.server-timing.log-sample-rate:0}") int logSampleRate) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(logSampleRate));
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        // Outside of all other filters, so the total covers the whole request.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public TimedJackson2HttpMessageConverter timedJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJackson2HttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,78 @@
+package org.heavenhr.recruitment.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times every request with a {@link RequestTiming} and answers with a {@code Server-Timing} header like
+ * {@code ctrl;dur=1.20, svc;dur=0.95, db;desc="2 statements";dur=0.61, ser;dur=0.08, total;dur=1.43}. Phases are
+ * inclusive: the controller time contains the service time, which contains the time of its statements. Every
+ * {@code log-sample-rate}-th request is also logged as one {@code server_timing} line of key value pairs.
+ * <p>
+ * Asynchronous requests keep their timing in a request attribute and are completed in the async dispatch. Reads
+ * handed to the read pool run their service after the controller returned, so there the service time is not part
+ * of the controller time.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private static final String TIMING_ATTRIBUTE = ServerTimingFilter.class.getName() + ".TIMING";
+
+    private final int logSampleRate;
+    private final AtomicLong requests = new AtomicLong();
+
+    public ServerTimingFilter(int logSampleRate) {
+        if (logSampleRate < 0) {
+            throw new IllegalArgumentException("Log sample rate should not be negative.");
+        }
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = (RequestTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing == null) {
+            timing = new RequestTiming();
+            request.setAttribute(TIMING_ATTRIBUTE, timing);
+        }
+        ServerTimingResponseWrapper timedResponse = WebUtils.getNativeResponse(response,
+                ServerTimingResponseWrapper.class);
+        if (timedResponse == null) {
+            timedResponse = new ServerTimingResponseWrapper(response, timing);
+        }
+
+        RequestTiming previous = RequestTiming.bind(timing);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            RequestTiming.bind(previous);
+            if (!isAsyncStarted(request)) {
+                timedResponse.writeHeader();
+                logSampled(request, timedResponse, timing);
+            }
+        }
+    }
+
+    private void logSampled(HttpServletRequest request, HttpServletResponse response, RequestTiming timing) {
+        if (logSampleRate > 0 && requests.incrementAndGet() % logSampleRate == 0 && LOG.isInfoEnabled()) {
+            LOG.info("server_timing method={} path={} status={} {}", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), timing.toLogFields());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.heavenhr.recruitment.metrics;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Sets the {@code Server-Timing} header at the last moment it can still be sent: right before the body is flushed,
+ * before it outgrows the response buffer or reaches its content length, or once the request is done. The header then
+ * covers everything up to that point, the serialization of a body larger than the buffer only partially.
+ */
+class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final RequestTiming timing;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private long written;
+    private long contentLength = -1;
+    private boolean headerWritten;
+
+    ServerTimingResponseWrapper(HttpServletResponse response, RequestTiming timing) {
+        super(response);
+        this.timing = timing;
+    }
+
+    void writeHeader() {
+        if (!headerWritten) {
+            headerWritten = true;
+            if (!isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, timing.toServerTiming());
+            }
+        }
+    }
+
+    private void beforeWrite(long length) {
+        if (headerWritten) {
+            return;
+        }
+        written += length;
+        if (written > getBufferSize() || (contentLength >= 0 && written >= contentLength)) {
+            writeHeader();
+        }
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        contentLength = len;
+        super.setContentLength(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        contentLength = len;
+        super.setContentLengthLong(len);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeHeader();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeader();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeader();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeader();
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TimingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new TimingWriter(super.getWriter());
+        }
+        return writer;
+    }
+
+    private final class TimingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private TimingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            beforeWrite(1);
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            beforeWrite(len);
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeHeader();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writeHeader();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    private final class TimingWriter extends PrintWriter {
+
+        private TimingWriter(PrintWriter delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(int c) {
+            beforeWrite(1);
+            super.write(c);
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            beforeWrite(len);
+            super.write(buf, off, len);
+        }
+
+        @Override
+        public void write(String s, int off, int len) {
+            beforeWrite(len);
+            super.write(s, off, len);
+        }
+
+        @Override
+        public void flush() {
+            writeHeader();
+            super.flush();
+        }
+
+        @Override
+        public void close() {
+            writeHeader();
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.heavenhr.recruitment.model.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchUpdateApplicationStatusRequest {
+
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    @NotNull
+    @Size(min = 1, max = MAX_BATCH_SIZE)
+    private List<Long> applicationIds;
+
+    @NotNull
+    private ApplicationStatus status;
+}
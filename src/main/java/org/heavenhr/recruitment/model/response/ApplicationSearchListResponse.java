@@ -0,0 +1,17 @@
+package org.heavenhr.recruitment.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSearchListResponse {
+
+    private List<ApplicationSearchResultResponse> applications;
+}
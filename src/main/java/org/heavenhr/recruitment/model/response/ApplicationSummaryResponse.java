@@ -0,0 +1,19 @@
+package org.heavenhr.recruitment.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSummaryResponse {
+
+    private Long id;
+
+    private String email;
+
+    private String status;
+}
@@ -0,0 +1,21 @@
+package org.heavenhr.recruitment.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResponse {
+
+    private int index;
+
+    private Long id;
+
+    private BatchItemResult result;
+
+    private String error;
+}
@@ -0,0 +1,5 @@
+package org.heavenhr.recruitment.model.response;
+
+public enum BatchItemResult {
+    CREATED, UPDATED, FAILED
+}
@@ -14,4 +14,6 @@ import java.util.List;
 public class OfferDetailsListResponse {
 
     private List<OfferDetailsResponse> offers;
+
+    private Long nextCursor;
 }
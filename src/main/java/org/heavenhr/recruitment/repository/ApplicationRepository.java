@@ -1,22 +1,74 @@
 package org.heavenhr.recruitment.repository;
 
 import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.repository.projection.ApplicationEmail;
+import org.heavenhr.recruitment.repository.projection.ApplicationResumeText;
+import org.heavenhr.recruitment.repository.projection.ApplicationSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
-public interface ApplicationRepository extends CrudRepository<Application, Long> {
+public interface ApplicationRepository extends JpaRepository<Application, Long>, ApplicationRepositoryCustom {
 
-    @Query("SELECT a FROM application a WHERE a.offer.id = :offerId")
+    @Query("SELECT a FROM application a JOIN FETCH a.resume WHERE a.offer.id = :offerId")
     public Optional<List<Application>> findAllByOfferId(@Param("offerId") Long offerId);
 
-    @Query("SELECT a FROM application a WHERE a.offer.id = :offerId AND a.id = :applicationId")
+    @Query("SELECT a.id AS id, a.email AS email, a.status AS status FROM application a "
+            + "WHERE a.offer.id = :offerId ORDER BY a.id")
+    public List<ApplicationSummary> findSummariesByOfferId(@Param("offerId") Long offerId);
+
+    @Query("SELECT a.id AS id, a.email AS email, a.status AS status FROM application a "
+            + "WHERE a.offer.id = :offerId AND a.id IN :ids")
+    public List<ApplicationSummary> findSummariesByOfferIdAndIdIn(@Param("offerId") Long offerId,
+                                                                  @Param("ids") Collection<Long> ids);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT a FROM application a JOIN FETCH a.resume WHERE a.offer.id = :offerId")
+    public Stream<Application> streamAllByOfferId(@Param("offerId") Long offerId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT a.id AS id, r.resumeText AS resumeText FROM application a JOIN a.resume r "
+            + "WHERE a.offer.id = :offerId")
+    public Stream<ApplicationResumeText> streamResumeTextsByOfferId(@Param("offerId") Long offerId);
+
+    @Query("SELECT a FROM application a JOIN FETCH a.resume WHERE a.offer.id = :offerId AND a.id = :applicationId")
     public Optional<Application> findByOfferIdAndApplicationId(@Param("offerId") Long offerId,
                                                                @Param("applicationId") Long applicationId);
 
+    @Query("SELECT a.email FROM application a WHERE a.offer.id = :offerId AND a.email IN :emails")
+    public List<String> findEmailsByOfferIdAndEmailIn(@Param("offerId") Long offerId,
+                                                      @Param("emails") Collection<String> emails);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT a.offer.id AS offerId, a.email AS email FROM application a")
+    public Stream<ApplicationEmail> streamAllEmails();
+
+    @Query("SELECT COUNT(a) > 0 FROM application a WHERE a.offer.id = :offerId AND a.email = :email")
+    public boolean existsByOfferIdAndEmail(@Param("offerId") Long offerId, @Param("email") String email);
+
+    @Query("SELECT a FROM application a JOIN FETCH a.resume WHERE a.id = :id")
+    public Optional<Application> findWithResumeById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE application a SET a.status = :status, a.version = a.version + 1 "
+            + "WHERE a.id = :id AND a.version = :version AND a.status IN :allowedStatuses")
+    public int updateStatusByIdAndVersion(@Param("id") Long id, @Param("version") Long version,
+                                          @Param("status") ApplicationStatus status,
+                                          @Param("allowedStatuses") Collection<ApplicationStatus> allowedStatuses);
+
     @Query("SELECT COUNT(a) FROM application a WHERE a.offer.id = :offerId")
     public Optional<Integer> getCountByOfferId(@Param("offerId") Long offerId);
 }
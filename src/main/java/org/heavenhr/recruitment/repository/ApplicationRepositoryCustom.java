@@ -0,0 +1,17 @@
+package org.heavenhr.recruitment.repository;
+
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface ApplicationRepositoryCustom {
+
+    /**
+     * Sets the status of every application whose version is still the one given, in one JDBC batch.
+     *
+     * @param versionsById the version every application was read with, by application id.
+     * @return the ids of the applications that were updated.
+     */
+    public Set<Long> updateStatusByIdAndVersionIn(Map<Long, Long> versionsById, ApplicationStatus status);
+}
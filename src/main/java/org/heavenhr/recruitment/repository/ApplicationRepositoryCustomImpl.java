@@ -0,0 +1,97 @@
+package org.heavenhr.recruitment.repository;
+
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compare and set of the status of many applications at once. Every row is guarded on its own version like
+ * {@link ApplicationRepository#updateStatusByIdAndVersion}, and the update counts of the batch tell exactly which rows
+ * changed, which a single {@code UPDATE ... WHERE id IN} cannot.
+ */
+public class ApplicationRepositoryCustomImpl implements ApplicationRepositoryCustom {
+
+    private static final String UPDATE_STATUS_BY_ID_AND_VERSION =
+            "UPDATE application SET status = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private static final String FIND_STATUS_AND_VERSION_BY_ID_IN =
+            "SELECT id, status, version FROM application WHERE id IN (%s)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Set<Long> updateStatusByIdAndVersionIn(Map<Long, Long> versionsById, ApplicationStatus status) {
+        if (versionsById.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<Long> updatedIds = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                updateStatusByIdAndVersionIn(connection, versionsById, status));
+        // Same as a @Modifying(clearAutomatically = true) query, the loaded applications no longer match their rows.
+        entityManager.clear();
+        return updatedIds;
+    }
+
+    /**
+     * Drivers may answer {@link Statement#SUCCESS_NO_INFO} instead of the update count of a row, some for every row of
+     * a batch. Such rows are read again inside the transaction and only count as updated if they carry the new status
+     * at the version following the one read.
+     */
+    Set<Long> updateStatusByIdAndVersionIn(Connection connection, Map<Long, Long> versionsById,
+                                           ApplicationStatus status) throws SQLException {
+        Set<Long> updatedIds = new HashSet<>();
+        List<Long> unknownIds = new ArrayList<>();
+
+        List<Long> ids = new ArrayList<>(versionsById.keySet());
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_STATUS_BY_ID_AND_VERSION)) {
+            for (Long id : ids) {
+                statement.setString(1, status.name());
+                statement.setLong(2, id);
+                statement.setLong(3, versionsById.get(id));
+                statement.addBatch();
+            }
+            int[] updateCounts = statement.executeBatch();
+            for (int i = 0; i < updateCounts.length; i++) {
+                if (updateCounts[i] > 0) {
+                    updatedIds.add(ids.get(i));
+                } else if (updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                    unknownIds.add(ids.get(i));
+                }
+            }
+        }
+
+        if (!unknownIds.isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(unknownIds.size(), "?"));
+            try (PreparedStatement statement = connection.prepareStatement(
+                    String.format(FIND_STATUS_AND_VERSION_BY_ID_IN, placeholders))) {
+                for (int i = 0; i < unknownIds.size(); i++) {
+                    statement.setLong(i + 1, unknownIds.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        long id = resultSet.getLong(1);
+                        if (status.name().equals(resultSet.getString(2))
+                                && resultSet.getLong(3) == versionsById.get(id) + 1) {
+                            updatedIds.add(id);
+                        }
+                    }
+                }
+            }
+        }
+        return updatedIds;
+    }
+}
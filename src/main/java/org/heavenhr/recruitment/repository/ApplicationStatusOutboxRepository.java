@@ -0,0 +1,30 @@
+package org.heavenhr.recruitment.repository;
+
+import org.heavenhr.recruitment.entity.ApplicationStatusOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+public interface ApplicationStatusOutboxRepository extends JpaRepository<ApplicationStatusOutbox, Long> {
+
+    public List<ApplicationStatusOutbox> findByDeliveredFalseAndIdGreaterThanOrderByIdAsc(Long id,
+                                                                                         Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE application_status_outbox o SET o.delivered = true, o.deliveredAt = :deliveredAt "
+            + "WHERE o.id IN :ids")
+    public int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") Timestamp deliveredAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM application_status_outbox o WHERE o.delivered = true AND o.deliveredAt < :deliveredBefore")
+    public int deleteDelivered(@Param("deliveredBefore") Timestamp deliveredBefore);
+}
@@ -1,7 +1,40 @@
 package org.heavenhr.recruitment.repository;
 
 import org.heavenhr.recruitment.entity.Offer;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.List;
 
 public interface OfferRepository extends PagingAndSortingRepository<Offer, Long> {
+
+    @Query("SELECT o.id FROM Offer o")
+    public List<Long> findAllIds();
+
+    @Modifying
+    @Query("UPDATE Offer o SET o.noOfJobApplications = o.noOfJobApplications + :count WHERE o.id = :offerId")
+    public int increaseNoOfJobApplications(@Param("offerId") Long offerId, @Param("count") int count);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE offer o SET o.no_of_job_applications = "
+            + "(SELECT COUNT(*) FROM application a WHERE a.offer_id = o.id) "
+            + "WHERE o.no_of_job_applications <> (SELECT COUNT(*) FROM application a WHERE a.offer_id = o.id)",
+            nativeQuery = true)
+    public int reconcileNoOfJobApplications();
+
+    /**
+     * Inserts the copy of an offer unless the shard already has it, so copying can be repeated safely.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO offer (id, job_title, start_date, no_of_job_applications) "
+            + "SELECT :id, :jobTitle, :startDate, 0 WHERE NOT EXISTS (SELECT 1 FROM offer WHERE id = :id)",
+            nativeQuery = true)
+    public int insertCopy(@Param("id") Long id, @Param("jobTitle") String jobTitle,
+                          @Param("startDate") Date startDate);
 }
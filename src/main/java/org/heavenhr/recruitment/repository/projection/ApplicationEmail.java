@@ -0,0 +1,11 @@
+package org.heavenhr.recruitment.repository.projection;
+
+/**
+ * Offer id and email of an application, read to seed the duplicate application filter.
+ */
+public interface ApplicationEmail {
+
+    Long getOfferId();
+
+    String getEmail();
+}
@@ -0,0 +1,11 @@
+package org.heavenhr.recruitment.repository.projection;
+
+/**
+ * Id of an application together with its resume, read to build the resume search index.
+ */
+public interface ApplicationResumeText {
+
+    Long getId();
+
+    String getResumeText();
+}
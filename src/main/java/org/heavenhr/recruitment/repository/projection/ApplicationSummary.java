@@ -0,0 +1,15 @@
+package org.heavenhr.recruitment.repository.projection;
+
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+
+/**
+ * Columns of an application needed by list views, read without the offer and the resume.
+ */
+public interface ApplicationSummary {
+
+    Long getId();
+
+    String getEmail();
+
+    ApplicationStatus getStatus();
+}
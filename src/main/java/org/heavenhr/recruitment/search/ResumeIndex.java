@@ -0,0 +1,217 @@
+package org.heavenhr.recruitment.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In process inverted index over the resumes of the applications, partitioned per offer. Every application gets a
+ * document number local to its offer and the postings of a term are kept as parallel {@code int} arrays of document
+ * numbers and term frequencies, so an index holds no boxed values per occurrence. Results are ranked with BM25.
+ */
+@Component
+public class ResumeIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private final ConcurrentMap<Long, OfferIndex> offerIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the resume of an application to the index of its offer. Applications that are already indexed are ignored,
+     * so the same application may safely be added by the incremental update and by a rebuild.
+     */
+    public void add(Long offerId, Long applicationId, String resumeText) {
+        offerIndexes.computeIfAbsent(offerId, id -> new OfferIndex()).add(applicationId, tokenize(resumeText));
+    }
+
+    /**
+     * Returns the ids of the applications of the offer matching any of the terms of the query, best match first.
+     */
+    public List<ScoredApplication> search(Long offerId, String query, int limit) {
+        OfferIndex offerIndex = offerIndexes.get(offerId);
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (offerIndex == null || terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return offerIndex.search(terms, limit);
+    }
+
+    public int size(Long offerId) {
+        OfferIndex offerIndex = offerIndexes.get(offerId);
+        return offerIndex == null ? 0 : offerIndex.size();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean termCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (termCharacter && start < 0) {
+                start = i;
+            } else if (!termCharacter && start >= 0) {
+                if (i - start >= MIN_TERM_LENGTH) {
+                    terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    public static class ScoredApplication {
+
+        private final long applicationId;
+        private final float score;
+
+        ScoredApplication(long applicationId, float score) {
+            this.applicationId = applicationId;
+            this.score = score;
+        }
+
+        public long getApplicationId() {
+            return applicationId;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+
+    private static class OfferIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Integer> documents = new HashMap<>();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private long[] applicationIds = new long[16];
+        private int[] documentLengths = new int[16];
+        private int documentCount;
+        private long totalLength;
+
+        void add(Long applicationId, List<String> terms) {
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            for (String term : terms) {
+                termFrequencies.merge(term, 1, Integer::sum);
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (documents.containsKey(applicationId)) {
+                    return;
+                }
+                int document = documentCount++;
+                if (document == applicationIds.length) {
+                    applicationIds = Arrays.copyOf(applicationIds, document * 2);
+                    documentLengths = Arrays.copyOf(documentLengths, document * 2);
+                }
+                applicationIds[document] = applicationId;
+                documentLengths[document] = terms.size();
+                totalLength += terms.size();
+                documents.put(applicationId, document);
+
+                termFrequencies.forEach((term, frequency) ->
+                        postings.computeIfAbsent(term, key -> new Postings()).add(document, frequency));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<ScoredApplication> search(Set<String> terms, int limit) {
+            lock.readLock().lock();
+            try {
+                if (documentCount == 0) {
+                    return Collections.emptyList();
+                }
+                float averageLength = (float) totalLength / documentCount;
+                float[] scores = new float[documentCount];
+                boolean matched = false;
+
+                for (String term : terms) {
+                    Postings termPostings = postings.get(term);
+                    if (termPostings == null) {
+                        continue;
+                    }
+                    matched = true;
+                    float idf = (float) Math.log(1 + (documentCount - termPostings.size + 0.5)
+                            / (termPostings.size + 0.5));
+                    for (int i = 0; i < termPostings.size; i++) {
+                        int document = termPostings.documents[i];
+                        int frequency = termPostings.frequencies[i];
+                        float norm = K1 * (1 - B + B * documentLengths[document] / averageLength);
+                        scores[document] += idf * frequency * (K1 + 1) / (frequency + norm);
+                    }
+                }
+                if (!matched) {
+                    return Collections.emptyList();
+                }
+                return topScores(scores, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private List<ScoredApplication> topScores(float[] scores, int limit) {
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1,
+                    (left, right) -> Float.compare(scores[left], scores[right]));
+            for (int document = 0; document < scores.length; document++) {
+                if (scores[document] <= 0) {
+                    continue;
+                }
+                top.offer(document);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            ScoredApplication[] results = new ScoredApplication[top.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                int document = top.poll();
+                results[i] = new ScoredApplication(applicationIds[document], scores[document]);
+            }
+            return Arrays.asList(results);
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return documentCount;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static class Postings {
+
+        private int[] documents = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.heavenhr.recruitment.service;
+
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
+import org.heavenhr.recruitment.model.response.BatchResponse;
+
+import java.util.List;
+
+public interface ApplicationBatchService {
+
+    BatchResponse createApplications(List<CreateApplicationRequest> requests);
+
+    BatchResponse updateApplicationStatuses(List<Long> applicationIds, ApplicationStatus status);
+}
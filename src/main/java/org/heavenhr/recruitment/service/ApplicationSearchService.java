@@ -0,0 +1,8 @@
+package org.heavenhr.recruitment.service;
+
+import org.heavenhr.recruitment.model.response.ApplicationSearchListResponse;
+
+public interface ApplicationSearchService {
+
+    ApplicationSearchListResponse searchApplications(Long offerId, String query, int limit);
+}
@@ -5,6 +5,9 @@ import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
 import org.heavenhr.recruitment.model.response.ApplicationCountResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsListResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsResponse;
+import org.heavenhr.recruitment.model.response.ApplicationSummaryListResponse;
+
+import java.util.function.Consumer;
 
 public interface ApplicationService {
 
@@ -14,6 +17,10 @@ public interface ApplicationService {
 
     ApplicationDetailsListResponse getAllApplicationsByOfferId(Long offerId);
 
+    ApplicationSummaryListResponse getAllApplicationSummariesByOfferId(Long offerId);
+
+    void streamAllApplicationsByOfferId(Long offerId, Consumer<ApplicationDetailsResponse> consumer);
+
     ApplicationDetailsResponse updateApplication(Long applicationId, UpdateApplicationRequest request);
 
     ApplicationCountResponse getCountOfApplicationByOfferId(Long offerId);
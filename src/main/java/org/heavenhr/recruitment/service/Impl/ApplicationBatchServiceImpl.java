@@ -0,0 +1,364 @@
+package org.heavenhr.recruitment.service.Impl;
+
+import org.heavenhr.recruitment.cache.ApplicationEmailFilter;
+import org.heavenhr.recruitment.datasource.ShardRouting;
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.ApplicationStatusOutbox;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.event.ApplicationCreatedEvent;
+import org.heavenhr.recruitment.event.ApplicationsUpdatedEvent;
+import org.heavenhr.recruitment.exception.ErrorCode;
+import org.heavenhr.recruitment.mapper.ApplicationMapper;
+import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
+import org.heavenhr.recruitment.model.response.BatchItemResponse;
+import org.heavenhr.recruitment.model.response.BatchItemResult;
+import org.heavenhr.recruitment.model.response.BatchResponse;
+import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.ApplicationStatusOutboxRepository;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.heavenhr.recruitment.service.ApplicationBatchService;
+import org.heavenhr.recruitment.validator.ApplicationStatusValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Items of a batch that belong to different shards are processed in a transaction per shard, see
+ * {@link ShardRouting}. With a single shard the whole batch is one transaction.
+ */
+@Service
+public class ApplicationBatchServiceImpl implements ApplicationBatchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApplicationBatchServiceImpl.class);
+
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    static final int MAX_CREATE_ATTEMPTS = 3;
+
+    private final ApplicationRepository applicationRepository;
+    private final OfferRepository offerRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final EntityManager entityManager;
+    private final ApplicationStatusOutboxRepository applicationStatusOutboxRepository;
+    private final Validator validator;
+    private final ApplicationEmailFilter applicationEmailFilter;
+    private final ShardRouting shardRouting;
+    private final TransactionTemplate transactionTemplate;
+    private final int jdbcBatchSize;
+
+    public ApplicationBatchServiceImpl(ApplicationRepository applicationRepository, OfferRepository offerRepository,
+                                       ApplicationEventPublisher applicationEventPublisher,
+                                       EntityManager entityManager,
+                                       ApplicationStatusOutboxRepository applicationStatusOutboxRepository,
+                                       Validator validator, ApplicationEmailFilter applicationEmailFilter,
+                                       ShardRouting shardRouting, PlatformTransactionManager transactionManager,
+                                       @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize) {
+        this.applicationRepository = applicationRepository;
+        this.offerRepository = offerRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.entityManager = entityManager;
+        this.applicationStatusOutboxRepository = applicationStatusOutboxRepository;
+        this.validator = validator;
+        this.applicationEmailFilter = applicationEmailFilter;
+        this.shardRouting = shardRouting;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    @Override
+    public BatchResponse createApplications(List<CreateApplicationRequest> requests) {
+
+        BatchItemResponse[] results = new BatchItemResponse[requests.size()];
+
+        groupByShard(requests.size(), index -> requests.get(index) == null ? null : requests.get(index).getOfferId())
+                .forEach((shard, shardIndexes) -> shardRouting.onShard(shard, () -> {
+                    createApplicationsOnShard(requests, shardIndexes, results);
+                    return null;
+                }));
+
+        return ApplicationMapper.mapBatchResponse(Arrays.asList(results));
+    }
+
+    /**
+     * A unique constraint violation while inserting means that one of the emails applied concurrently. Hibernate marks
+     * the whole transaction rollback only once a flush failed, so the transaction of the shard is run again, this time
+     * checking every email against the database so the conflicting ones are reported as duplicates. If the emails
+     * keep conflicting, the items of this shard are reported as failed instead of failing the request, since the
+     * shards processed before have already committed.
+     */
+    private void createApplicationsOnShard(List<CreateApplicationRequest> requests, List<Integer> shardIndexes,
+                                           BatchItemResponse[] results) {
+        for (int attempt = 1; ; attempt++) {
+            boolean checkAllEmails = attempt > 1;
+            try {
+                transactionTemplate.execute(transactionStatus -> {
+                    createApplications(requests, shardIndexes, results, checkAllEmails);
+                    return null;
+                });
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt == MAX_CREATE_ATTEMPTS) {
+                    LOG.error("DataIntegrityViolationException occurred while creating batch of applications", ex);
+                    failApplicationsOnShard(shardIndexes, results);
+                    return;
+                }
+                LOG.warn("Applications of batch were created concurrently, retrying");
+            }
+        }
+    }
+
+    private void failApplicationsOnShard(List<Integer> shardIndexes, BatchItemResponse[] results) {
+        for (int index : shardIndexes) {
+            // Items rejected by the last attempt keep their own error, the others were rolled back.
+            if (results[index] == null || results[index].getResult() != BatchItemResult.FAILED) {
+                results[index] = ApplicationMapper.mapBatchItemResponse(index, null, BatchItemResult.FAILED,
+                        ErrorCode.CONCURRENT_BATCH.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public BatchResponse updateApplicationStatuses(List<Long> applicationIds, ApplicationStatus status) {
+
+        BatchItemResponse[] results = new BatchItemResponse[applicationIds.size()];
+        Set<Long> requestedIds = new HashSet<>();
+
+        groupByShard(applicationIds.size(), applicationIds::get)
+                .forEach((shard, shardIndexes) -> shardRouting.onShard(shard, () -> transactionTemplate.execute(
+                        transactionStatus -> {
+                            updateApplicationStatuses(applicationIds, shardIndexes, status, results, requestedIds);
+                            return null;
+                        })));
+
+        return ApplicationMapper.mapBatchResponse(Arrays.asList(results));
+    }
+
+    private Map<Integer, List<Integer>> groupByShard(int size, IntFunction<Long> shardKey) {
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int index = 0; index < size; index++) {
+            indexesByShard.computeIfAbsent(shardRouting.shardOf(shardKey.apply(index)), shard -> new ArrayList<>())
+                    .add(index);
+        }
+        return indexesByShard;
+    }
+
+    private void createApplications(List<CreateApplicationRequest> allRequests, List<Integer> requestIndexes,
+                                    BatchItemResponse[] results, boolean checkAllEmails) {
+
+        List<CreateApplicationRequest> requests = requestIndexes.stream()
+                .map(allRequests::get)
+                .collect(Collectors.toList());
+
+        Map<Long, Offer> offers = findOffers(requests);
+        Map<Long, Set<String>> appliedEmails = findAppliedEmails(requests, offers, checkAllEmails);
+
+        List<Application> applications = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+
+        for (int index : requestIndexes) {
+            CreateApplicationRequest request = allRequests.get(index);
+
+            String error = getValidationError(request, offers, appliedEmails);
+            if (error != null) {
+                results[index] = ApplicationMapper.mapBatchItemResponse(index, null, BatchItemResult.FAILED, error);
+                continue;
+            }
+
+            // Remember the email so that a second occurrence in the same batch is reported as a duplicate.
+            appliedEmails.computeIfAbsent(request.getOfferId(), offerId -> new HashSet<>()).add(request.getEmail());
+            applications.add(ApplicationMapper.mapCreateApplicationRequest(request, offers.get(request.getOfferId())));
+            indexes.add(index);
+        }
+
+        insertApplications(applications);
+        applications.forEach(application ->
+                applicationEmailFilter.put(application.getOffer().getId(), application.getEmail()));
+
+        for (int i = 0; i < applications.size(); i++) {
+            Application application = applications.get(i);
+            results[indexes.get(i)] = ApplicationMapper.mapBatchItemResponse(indexes.get(i), application.getId(),
+                    BatchItemResult.CREATED, null);
+        }
+
+        increaseNoOfJobApplications(applications);
+        applications.forEach(application ->
+                applicationEventPublisher.publishEvent(new ApplicationCreatedEvent(this, application)));
+    }
+
+    private void updateApplicationStatuses(List<Long> applicationIds, List<Integer> applicationIndexes,
+                                           ApplicationStatus status, BatchItemResponse[] results,
+                                           Set<Long> requestedIds) {
+
+        Set<Long> updatedOfferIds = new HashSet<>();
+
+        for (int from = 0; from < applicationIndexes.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Integer> chunk = applicationIndexes.subList(from,
+                    Math.min(from + IN_CLAUSE_CHUNK_SIZE, applicationIndexes.size()));
+
+            Map<Long, Application> applications = new HashMap<>();
+            applicationRepository.findAllById(chunk.stream()
+                    .map(applicationIds::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()))
+                    .forEach(application -> applications.put(application.getId(), application));
+
+            Map<Long, Integer> indexes = new LinkedHashMap<>();
+            for (int index : chunk) {
+                Long applicationId = applicationIds.get(index);
+
+                String error = getStatusUpdateError(applicationId, applications.get(applicationId), status,
+                        requestedIds);
+                if (error != null) {
+                    results[index] = ApplicationMapper.mapBatchItemResponse(index, applicationId,
+                            BatchItemResult.FAILED, error);
+                } else {
+                    indexes.put(applicationId, index);
+                }
+            }
+
+            if (!indexes.isEmpty()) {
+                updateStatuses(indexes, applications, status, results, updatedOfferIds);
+            }
+        }
+        if (!updatedOfferIds.isEmpty()) {
+            applicationEventPublisher.publishEvent(new ApplicationsUpdatedEvent(this, updatedOfferIds));
+        }
+    }
+
+    private String getStatusUpdateError(Long applicationId, Application application, ApplicationStatus status,
+                                        Set<Long> requestedIds) {
+        if (applicationId == null) {
+            return "Application id must not be null.";
+        }
+        if (!requestedIds.add(applicationId)) {
+            return "Application is already part of this batch.";
+        }
+        if (application == null) {
+            return "Application does not exists.";
+        }
+        return ApplicationStatusValidator.getStatusUpdateError(application.getStatus(), status);
+    }
+
+    private void updateStatuses(Map<Long, Integer> indexes, Map<Long, Application> applications,
+                                ApplicationStatus status, BatchItemResponse[] results, Set<Long> updatedOfferIds) {
+
+        // Every row is guarded on the version it was read with, so the transition validated above is exactly the one
+        // applied and an application changed in the meantime is reported instead of overwritten.
+        Map<Long, Long> versionsById = new LinkedHashMap<>();
+        indexes.keySet().forEach(applicationId ->
+                versionsById.put(applicationId, applications.get(applicationId).getVersion()));
+        Set<Long> updatedIds = applicationRepository.updateStatusByIdAndVersionIn(versionsById, status);
+
+        List<ApplicationStatusOutbox> statusChanges = new ArrayList<>(updatedIds.size());
+
+        for (Map.Entry<Long, Integer> entry : indexes.entrySet()) {
+            Long applicationId = entry.getKey();
+            int index = entry.getValue();
+
+            if (!updatedIds.contains(applicationId)) {
+                results[index] = ApplicationMapper.mapBatchItemResponse(index, applicationId, BatchItemResult.FAILED,
+                        "Application was updated concurrently, please retry.");
+                continue;
+            }
+
+            Application application = applications.get(applicationId);
+            ApplicationStatus oldStatus = application.getStatus();
+            updatedOfferIds.add(application.getOffer().getId());
+
+            results[index] = ApplicationMapper.mapBatchItemResponse(index, applicationId, BatchItemResult.UPDATED,
+                    null);
+            statusChanges.add(ApplicationMapper.mapApplicationStatusOutbox(application, oldStatus, status));
+        }
+        applicationStatusOutboxRepository.saveAll(statusChanges);
+    }
+
+    private Map<Long, Offer> findOffers(List<CreateApplicationRequest> requests) {
+        Set<Long> offerIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(CreateApplicationRequest::getOfferId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, Offer> offers = new HashMap<>();
+        offerRepository.findAllById(offerIds).forEach(offer -> offers.put(offer.getId(), offer));
+        return offers;
+    }
+
+    /**
+     * Only emails the filter may have seen are looked up, unless {@code checkAllEmails} is set: emails applied by
+     * another instance are not in the filter of this one.
+     */
+    private Map<Long, Set<String>> findAppliedEmails(List<CreateApplicationRequest> requests, Map<Long, Offer> offers,
+                                                     boolean checkAllEmails) {
+        Map<Long, Set<String>> requestedEmails = requests.stream()
+                .filter(Objects::nonNull)
+                .filter(request -> request.getEmail() != null && offers.containsKey(request.getOfferId()))
+                .filter(request -> checkAllEmails
+                        || applicationEmailFilter.mightContain(request.getOfferId(), request.getEmail()))
+                .collect(Collectors.groupingBy(CreateApplicationRequest::getOfferId,
+                        Collectors.mapping(CreateApplicationRequest::getEmail, Collectors.toSet())));
+
+        Map<Long, Set<String>> appliedEmails = new HashMap<>();
+        requestedEmails.forEach((offerId, emails) -> {
+            List<String> emailList = new ArrayList<>(emails);
+            for (int from = 0; from < emailList.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+                List<String> chunk = emailList.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, emailList.size()));
+                appliedEmails.computeIfAbsent(offerId, id -> new HashSet<>())
+                        .addAll(applicationRepository.findEmailsByOfferIdAndEmailIn(offerId, chunk));
+            }
+        });
+        return appliedEmails;
+    }
+
+    private String getValidationError(CreateApplicationRequest request, Map<Long, Offer> offers,
+                                      Map<Long, Set<String>> appliedEmails) {
+        if (request == null) {
+            return "Application must not be null.";
+        }
+
+        Set<ConstraintViolation<CreateApplicationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+
+        if (!offers.containsKey(request.getOfferId())) {
+            return "Offer with given id does not exists.";
+        }
+
+        if (appliedEmails.getOrDefault(request.getOfferId(), Collections.emptySet()).contains(request.getEmail())) {
+            return ErrorCode.DUPLICATE_APPLICATION.getMessage();
+        }
+        return null;
+    }
+
+    private void insertApplications(List<Application> applications) {
+        for (int from = 0; from < applications.size(); from += jdbcBatchSize) {
+            applicationRepository.saveAll(applications.subList(from,
+                    Math.min(from + jdbcBatchSize, applications.size())));
+            applicationRepository.flush();
+            entityManager.clear();
+        }
+    }
+
+    private void increaseNoOfJobApplications(List<Application> applications) {
+        applications.stream()
+                .collect(Collectors.groupingBy(application -> application.getOffer().getId(), Collectors.counting()))
+                .forEach((offerId, count) -> offerRepository.increaseNoOfJobApplications(offerId, count.intValue()));
+    }
+}
@@ -0,0 +1,68 @@
+package org.heavenhr.recruitment.service.Impl;
+
+import org.heavenhr.recruitment.cache.OfferCache;
+import org.heavenhr.recruitment.datasource.ShardKey;
+import org.heavenhr.recruitment.exception.ErrorCode;
+import org.heavenhr.recruitment.mapper.ApplicationMapper;
+import org.heavenhr.recruitment.model.response.ApplicationSearchListResponse;
+import org.heavenhr.recruitment.model.response.ApplicationSearchResultResponse;
+import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.projection.ApplicationSummary;
+import org.heavenhr.recruitment.search.ResumeIndex;
+import org.heavenhr.recruitment.service.ApplicationSearchService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class ApplicationSearchServiceImpl implements ApplicationSearchService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final ResumeIndex resumeIndex;
+    private final ApplicationRepository applicationRepository;
+    private final OfferCache offerCache;
+
+    public ApplicationSearchServiceImpl(ResumeIndex resumeIndex, ApplicationRepository applicationRepository,
+                                        OfferCache offerCache) {
+        this.resumeIndex = resumeIndex;
+        this.applicationRepository = applicationRepository;
+        this.offerCache = offerCache;
+    }
+
+    @Override
+    public ApplicationSearchListResponse searchApplications(@ShardKey Long offerId, String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw ErrorCode.EMPTY_SEARCH_QUERY.exception();
+        }
+        if (limit < 1) {
+            throw ErrorCode.INVALID_PAGE_SIZE.exception();
+        }
+        offerCache.findById(offerId)
+                .orElseThrow(ErrorCode.OFFER_NOT_FOUND::exception);
+
+        List<ResumeIndex.ScoredApplication> matches = resumeIndex.search(offerId, query,
+                Math.min(limit, MAX_PAGE_SIZE));
+
+        List<ApplicationSearchResultResponse> results = new ArrayList<>(matches.size());
+        if (!matches.isEmpty()) {
+            Map<Long, ApplicationSummary> summaries = new HashMap<>();
+            applicationRepository.findSummariesByOfferIdAndIdIn(offerId, matches.stream()
+                    .map(ResumeIndex.ScoredApplication::getApplicationId)
+                    .collect(Collectors.toList()))
+                    .forEach(summary -> summaries.put(summary.getId(), summary));
+
+            for (ResumeIndex.ScoredApplication match : matches) {
+                ApplicationSummary summary = summaries.get(match.getApplicationId());
+                if (summary != null) {
+                    results.add(ApplicationMapper.mapApplicationSearchResultResponse(summary, match.getScore()));
+                }
+            }
+        }
+        return ApplicationSearchListResponse.builder().applications(results).build();
+    }
+}
@@ -1,29 +1,43 @@
 package org.heavenhr.recruitment.service.Impl;
 
+import org.heavenhr.recruitment.cache.ApplicationCountCache;
+import org.heavenhr.recruitment.cache.ApplicationEmailFilter;
+import org.heavenhr.recruitment.cache.OfferCache;
+import org.heavenhr.recruitment.datasource.ReplicaLagGuard;
+import org.heavenhr.recruitment.datasource.ShardKey;
 import org.heavenhr.recruitment.entity.Application;
 import org.heavenhr.recruitment.entity.ApplicationStatus;
 import org.heavenhr.recruitment.entity.Offer;
-import org.heavenhr.recruitment.event.ApplicationStatusEvent;
-import org.heavenhr.recruitment.exception.RecruitmentBusinessException;
+import org.heavenhr.recruitment.event.ApplicationCreatedEvent;
+import org.heavenhr.recruitment.event.ApplicationsUpdatedEvent;
+import org.heavenhr.recruitment.exception.ErrorCode;
+import org.heavenhr.recruitment.jfr.ServiceOperationContext;
 import org.heavenhr.recruitment.mapper.ApplicationMapper;
 import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
 import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
 import org.heavenhr.recruitment.model.response.ApplicationCountResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsListResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsResponse;
+import org.heavenhr.recruitment.model.response.ApplicationSummaryListResponse;
 import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.ApplicationStatusOutboxRepository;
 import org.heavenhr.recruitment.repository.OfferRepository;
 import org.heavenhr.recruitment.service.ApplicationService;
+import org.heavenhr.recruitment.validator.ApplicationStatusValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
 import java.util.Collections;
 import java.util.List;
-
-import static org.heavenhr.recruitment.entity.ApplicationStatus.APPLIED;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ApplicationServiceImpl implements ApplicationService {
@@ -33,95 +47,148 @@ public class ApplicationServiceImpl implements ApplicationService {
     private final ApplicationRepository applicationRepository;
     private final OfferRepository offerRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final EntityManager entityManager;
+    private final ApplicationCountCache applicationCountCache;
+    private final OfferCache offerCache;
+    private final ApplicationStatusOutboxRepository applicationStatusOutboxRepository;
+    private final ApplicationEmailFilter applicationEmailFilter;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
     public ApplicationServiceImpl(ApplicationRepository applicationRepository, OfferRepository offerRepository,
-                                  ApplicationEventPublisher applicationEventPublisher) {
+                                  ApplicationEventPublisher applicationEventPublisher, EntityManager entityManager,
+                                  ApplicationCountCache applicationCountCache, OfferCache offerCache,
+                                  ApplicationStatusOutboxRepository applicationStatusOutboxRepository,
+                                  ApplicationEmailFilter applicationEmailFilter, ReplicaLagGuard replicaLagGuard,
+                                  PlatformTransactionManager transactionManager) {
         this.applicationRepository = applicationRepository;
         this.offerRepository = offerRepository;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.entityManager = entityManager;
+        this.applicationCountCache = applicationCountCache;
+        this.offerCache = offerCache;
+        this.applicationStatusOutboxRepository = applicationStatusOutboxRepository;
+        this.applicationEmailFilter = applicationEmailFilter;
+        this.replicaLagGuard = replicaLagGuard;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @Override
-    public ApplicationDetailsResponse createApplication(CreateApplicationRequest request) {
+    @Transactional
+    public ApplicationDetailsResponse createApplication(@ShardKey("offerId") CreateApplicationRequest request) {
+
+        Offer offer = offerCache.findById(request.getOfferId())
+                .orElseThrow(ErrorCode.OFFER_NOT_FOUND::exception);
 
-        Offer offer = offerRepository.findById(request.getOfferId())
-                .orElseThrow(() -> new RecruitmentBusinessException("Offer with given id does not exists."));
+        // Only emails the filter may have seen for the offer cost a query, the insert itself never fails on a known
+        // duplicate.
+        if (applicationEmailFilter.mightContain(offer.getId(), request.getEmail())
+                && applicationRepository.existsByOfferIdAndEmail(offer.getId(), request.getEmail())) {
+            throw ErrorCode.DUPLICATE_APPLICATION.exception();
+        }
 
         Application application = ApplicationMapper.mapCreateApplicationRequest(request, offer);
 
         try {
-            return ApplicationMapper.mapApplicationToResponse(applicationRepository.save(application));
+            Application savedApplication = applicationRepository.saveAndFlush(application);
+            applicationEmailFilter.put(offer.getId(), savedApplication.getEmail());
+            offerRepository.increaseNoOfJobApplications(offer.getId(), 1);
+            applicationEventPublisher.publishEvent(new ApplicationCreatedEvent(this, savedApplication));
+            return ApplicationMapper.mapApplicationToResponse(savedApplication);
         } catch (DataIntegrityViolationException ex) {
-            LOG.error("DataIntegrityViolationException occurred while creating new application", ex);
-            throw new RecruitmentBusinessException("User with given email is already applied for this offer.");
+            // Only reached when the same email applies twice at the same time, the unique constraint decides.
+            LOG.warn("Concurrent duplicate application for offer with id - {}", offer.getId());
+            throw ErrorCode.DUPLICATE_APPLICATION.exception();
         }
     }
 
 
     @Override
-    public ApplicationDetailsResponse getApplicationByOfferIdAndApplicationId(Long offerId, Long applicationId) {
+    @Transactional(readOnly = true)
+    public ApplicationDetailsResponse getApplicationByOfferIdAndApplicationId(@ShardKey Long offerId,
+                                                                              Long applicationId) {
+        replicaLagGuard.guardRead(offerId);
 
         Application application = applicationRepository.findByOfferIdAndApplicationId(offerId, applicationId)
-                .orElseThrow(() -> new RecruitmentBusinessException("Application does not exists."));
+                .orElseThrow(ErrorCode.APPLICATION_NOT_FOUND::exception);
         return ApplicationMapper.mapApplicationToResponse(application);
     }
 
     @Override
-    public ApplicationDetailsListResponse getAllApplicationsByOfferId(Long offerId) {
+    @Transactional(readOnly = true)
+    public ApplicationDetailsListResponse getAllApplicationsByOfferId(@ShardKey Long offerId) {
+        replicaLagGuard.guardRead(offerId);
 
         List<Application> applications = applicationRepository.findAllByOfferId(offerId).orElse(Collections.emptyList());
         return ApplicationMapper.mapApplicationListToResponse(applications);
     }
 
     @Override
-    public ApplicationDetailsResponse updateApplication(Long applicationId, UpdateApplicationRequest request) {
+    @Transactional(readOnly = true)
+    public ApplicationSummaryListResponse getAllApplicationSummariesByOfferId(@ShardKey Long offerId) {
+        replicaLagGuard.guardRead(offerId);
 
-        Application application = applicationRepository.findById(applicationId)
-                .orElseThrow(() -> new RecruitmentBusinessException("Application does not exists."));
-        ApplicationStatus oldStatus = application.getStatus();
+        return ApplicationMapper.mapApplicationSummaryListToResponse(
+                applicationRepository.findSummariesByOfferId(offerId));
+    }
 
-        checkIfStatusUpdateIsAllowed(oldStatus, request.getStatus());
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllApplicationsByOfferId(@ShardKey Long offerId,
+                                               Consumer<ApplicationDetailsResponse> consumer) {
+        replicaLagGuard.guardRead(offerId);
+
+        try (Stream<Application> applications = applicationRepository.streamAllByOfferId(offerId)) {
+            applications.forEach(application -> {
+                consumer.accept(ApplicationMapper.mapApplicationToResponse(application));
+                // Detach every row once written so the persistence context does not grow with the result set.
+                entityManager.detach(application);
+            });
+        }
+    }
 
-        application.setStatus(request.getStatus());
+    @Override
+    @Transactional
+    public ApplicationDetailsResponse updateApplication(@ShardKey Long applicationId,
+                                                        UpdateApplicationRequest request) {
 
-        Application updatedApplication = applicationRepository.save(application);
+        Application application = applicationRepository.findWithResumeById(applicationId)
+                .orElseThrow(ErrorCode.APPLICATION_NOT_FOUND::exception);
+        ApplicationStatus oldStatus = application.getStatus();
 
-        publishStatusChangeNotification(application, oldStatus, request.getStatus());
+        ApplicationStatusValidator.checkIfStatusUpdateIsAllowed(oldStatus, request.getStatus());
+        ServiceOperationContext.recordStatusTransition(oldStatus, request.getStatus());
 
-        return ApplicationMapper.mapApplicationToResponse(updatedApplication);
-    }
+        // Compare and set on the version read above, so a concurrent change of the application is never overwritten.
+        int updatedRows = applicationRepository.updateStatusByIdAndVersion(applicationId, application.getVersion(),
+                request.getStatus(), ApplicationStatusValidator.getAllowedPreviousStatuses(request.getStatus()));
+        if (updatedRows == 0) {
+            throw ErrorCode.CONCURRENT_UPDATE.exception();
+        }
 
-    @Override
-    public ApplicationCountResponse getCountOfApplicationByOfferId(Long offerId) {
-        offerRepository.findById(offerId)
-                .orElseThrow(() -> new RecruitmentBusinessException("Offer with given id does not exists."));
-        int count = applicationRepository.getCountByOfferId(offerId).orElse(0);
-        return ApplicationMapper.mapApplicationCountResponse(count);
-    }
+        application.setStatus(request.getStatus());
+        application.setVersion(application.getVersion() + 1);
 
-    private void checkIfStatusUpdateIsAllowed(ApplicationStatus oldStatus, ApplicationStatus newStatus) {
-        if (oldStatus == newStatus) {
-            throw new RecruitmentBusinessException("Please select different status to update.");
-        }
+        applicationStatusOutboxRepository.save(ApplicationMapper.mapApplicationStatusOutbox(application, oldStatus,
+                request.getStatus()));
+        applicationEventPublisher.publishEvent(new ApplicationsUpdatedEvent(this,
+                Collections.singleton(application.getOffer().getId())));
 
-        switch (oldStatus) {
-            case APPLIED:
-                break;
-            case INVITED:
-                if (newStatus == APPLIED) {
-                    throw new RecruitmentBusinessException("Please select different status to update as candidate is invited.");
-                }
-                break;
-            case REJECTED:
-            case HIRED:
-                throw new RecruitmentBusinessException("Status update is not allowed as recruitment process is finished for this candidate.");
-        }
+        return ApplicationMapper.mapApplicationToResponse(application);
     }
 
-    private void publishStatusChangeNotification(Application application, ApplicationStatus oldStatus,
-                                                 ApplicationStatus newStatus) {
-        ApplicationStatusEvent event = new ApplicationStatusEvent(this, application, oldStatus,
-                newStatus);
-        applicationEventPublisher.publishEvent(event);
+    /**
+     * Served from {@link ApplicationCountCache}; only a cache miss opens a read only transaction to load the count.
+     */
+    @Override
+    public ApplicationCountResponse getCountOfApplicationByOfferId(@ShardKey Long offerId) {
+        return ApplicationMapper.mapApplicationCountResponse(applicationCountCache.get(offerId,
+                id -> readOnlyTransactionTemplate.execute(status -> {
+                    replicaLagGuard.guardRead(id);
+                    return offerRepository.findById(id)
+                            .orElseThrow(ErrorCode.OFFER_NOT_FOUND::exception)
+                            .getNoOfJobApplications();
+                })));
     }
 }
@@ -1,17 +1,26 @@
 package org.heavenhr.recruitment.service.Impl;
 
+import org.heavenhr.recruitment.cache.OfferCache;
+import org.heavenhr.recruitment.cache.OfferCatalog;
+import org.heavenhr.recruitment.datasource.ReplicaLagGuard;
+import org.heavenhr.recruitment.datasource.ShardRouting;
 import org.heavenhr.recruitment.entity.Offer;
-import org.heavenhr.recruitment.exception.RecruitmentBusinessException;
+import org.heavenhr.recruitment.event.OfferCreatedEvent;
+import org.heavenhr.recruitment.exception.ErrorCode;
+import org.heavenhr.recruitment.job.OfferCatalogRefreshJob;
 import org.heavenhr.recruitment.mapper.OfferMapper;
 import org.heavenhr.recruitment.model.request.CreateOfferRequest;
-import org.heavenhr.recruitment.model.response.OfferDetailsListResponse;
 import org.heavenhr.recruitment.model.response.OfferDetailsResponse;
 import org.heavenhr.recruitment.repository.OfferRepository;
 import org.heavenhr.recruitment.service.OfferService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 
@@ -20,10 +29,29 @@ public class OfferServiceImpl implements OfferService {
 
     private static final Logger LOG = LoggerFactory.getLogger(OfferServiceImpl.class);
 
+    static final int MAX_PAGE_SIZE = 100;
+
+    static final int MAX_COPY_ATTEMPTS = 3;
+
     private final OfferRepository offerRepository;
+    private final OfferCache offerCache;
+    private final OfferCatalog offerCatalog;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final ShardRouting shardRouting;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
-    public OfferServiceImpl(OfferRepository offerRepository) {
+    public OfferServiceImpl(OfferRepository offerRepository, OfferCache offerCache, OfferCatalog offerCatalog,
+                            ApplicationEventPublisher applicationEventPublisher, ReplicaLagGuard replicaLagGuard,
+                            ShardRouting shardRouting, PlatformTransactionManager transactionManager) {
         this.offerRepository = offerRepository;
+        this.offerCache = offerCache;
+        this.offerCatalog = offerCatalog;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.replicaLagGuard = replicaLagGuard;
+        this.shardRouting = shardRouting;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @Override
@@ -33,30 +61,80 @@ public class OfferServiceImpl implements OfferService {
 
         Offer offer = OfferMapper.mapCreateOfferRequestToOffer(request);
 
+        Offer savedOffer;
         try {
-            return OfferMapper.mapOfferToResponseObject(offerRepository.save(offer));
+            savedOffer = offerRepository.save(offer);
         } catch (DataIntegrityViolationException ex) {
             LOG.error("DataIntegrityViolationException occurred while creating new offer", ex);
-            throw new RecruitmentBusinessException("Offer with given title already exists.");
+            throw ErrorCode.OFFER_TITLE_EXISTS.exception();
         }
+
+        copyToOtherShards(savedOffer);
+        applicationEventPublisher.publishEvent(new OfferCreatedEvent(this, savedOffer));
+        return OfferMapper.mapOfferToResponseObject(savedOffer);
     }
 
+    /**
+     * Served from {@link OfferCache}; only a cache miss opens a read only transaction to load the offer.
+     */
     @Override
     public OfferDetailsResponse getOfferById(Long id) {
-        Offer offer = offerRepository.findById(id)
-                .orElseThrow(() -> new RecruitmentBusinessException("Offer with given id does not exists."));
+        Offer offer = offerCache.findById(id, offerId -> readOnlyTransactionTemplate.execute(status -> {
+            replicaLagGuard.guardRead(offerId);
+            return offerRepository.findById(offerId);
+        })).orElseThrow(ErrorCode.OFFER_NOT_FOUND::exception);
 
         return OfferMapper.mapOfferToResponseObject(offer);
     }
 
+    /**
+     * Served from {@link OfferCatalog}; loading the catalog runs in the read only transaction of the repository.
+     */
     @Override
-    public OfferDetailsListResponse getAllOffers() {
-        return OfferMapper.mapOfferListToResponseObject(offerRepository.findAll());
+    public OfferCatalog.Page getAllOffersPage(Long after, int limit) {
+
+        checkIfPageSizeIsValid(limit);
+
+        return offerCatalog.getPage(after == null ? 0L : after, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Offers are stored on the first shard and copied to all other shards, so the applications of an offer can be
+     * joined with it on the shard they live on. The offer is already committed on the first shard, so a copy that
+     * keeps failing does not fail the request; {@link OfferCatalogRefreshJob} copies it later.
+     */
+    private void copyToOtherShards(Offer offer) {
+        for (int shard = 1; shard < shardRouting.getShardCount(); shard++) {
+            copyToShard(offer, shard);
+        }
+    }
+
+    private void copyToShard(Offer offer, int shard) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                shardRouting.onShard(shard, () ->
+                        offerRepository.insertCopy(offer.getId(), offer.getJobTitle(), offer.getStartDate()));
+                return;
+            } catch (DataAccessException ex) {
+                if (attempt == MAX_COPY_ATTEMPTS) {
+                    LOG.error("Copying offer with id - {} to shard {} failed, it is left to the repair job",
+                            offer.getId(), shard, ex);
+                    return;
+                }
+                LOG.warn("Copying offer with id - {} to shard {} failed, retrying", offer.getId(), shard);
+            }
+        }
+    }
+
+    private void checkIfPageSizeIsValid(int limit) {
+        if (limit < 1) {
+            throw ErrorCode.INVALID_PAGE_SIZE.exception();
+        }
     }
 
     private void checkIfDateIsValid(CreateOfferRequest request) {
         if (request.getStartDate().isBefore(LocalDate.now())) {
-            throw new RecruitmentBusinessException("Please select futuristic date.");
+            throw ErrorCode.START_DATE_NOT_IN_FUTURE.exception();
         }
     }
 }
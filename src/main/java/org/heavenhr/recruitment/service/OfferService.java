@@ -1,7 +1,7 @@
 package org.heavenhr.recruitment.service;
 
+import org.heavenhr.recruitment.cache.OfferCatalog;
 import org.heavenhr.recruitment.model.request.CreateOfferRequest;
-import org.heavenhr.recruitment.model.response.OfferDetailsListResponse;
 import org.heavenhr.recruitment.model.response.OfferDetailsResponse;
 
 public interface OfferService {
@@ -10,5 +10,5 @@ public interface OfferService {
 
     OfferDetailsResponse getOfferById(Long id);
 
-    OfferDetailsListResponse getAllOffers();
+    OfferCatalog.Page getAllOffersPage(Long after, int limit);
 }
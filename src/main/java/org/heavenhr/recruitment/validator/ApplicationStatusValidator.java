@@ -0,0 +1,82 @@
+package org.heavenhr.recruitment.validator;
+
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.exception.ErrorCode;
+import org.heavenhr.recruitment.exception.RecruitmentBusinessException;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.heavenhr.recruitment.entity.ApplicationStatus.APPLIED;
+
+public class ApplicationStatusValidator {
+
+    private static final Map<ApplicationStatus, Set<ApplicationStatus>> ALLOWED_PREVIOUS_STATUSES =
+            new EnumMap<>(ApplicationStatus.class);
+
+    /**
+     * The error of every rejected transition, keyed by new and then old status. Messages only depend on the statuses,
+     * so each rejection throws one shared instance.
+     */
+    private static final Map<ApplicationStatus, Map<ApplicationStatus, RecruitmentBusinessException>> REJECTIONS =
+            new EnumMap<>(ApplicationStatus.class);
+
+    static {
+        for (ApplicationStatus newStatus : ApplicationStatus.values()) {
+            Set<ApplicationStatus> previousStatuses = EnumSet.noneOf(ApplicationStatus.class);
+            Map<ApplicationStatus, RecruitmentBusinessException> rejections = new EnumMap<>(ApplicationStatus.class);
+            for (ApplicationStatus oldStatus : ApplicationStatus.values()) {
+                String error = getStatusUpdateError(oldStatus, newStatus);
+                if (error == null) {
+                    previousStatuses.add(oldStatus);
+                } else {
+                    rejections.put(oldStatus,
+                            new RecruitmentBusinessException(ErrorCode.STATUS_UPDATE_NOT_ALLOWED, error));
+                }
+            }
+            ALLOWED_PREVIOUS_STATUSES.put(newStatus, Collections.unmodifiableSet(previousStatuses));
+            REJECTIONS.put(newStatus, rejections);
+        }
+    }
+
+    public static void checkIfStatusUpdateIsAllowed(ApplicationStatus oldStatus, ApplicationStatus newStatus) {
+        RecruitmentBusinessException rejection = REJECTIONS.get(newStatus).get(oldStatus);
+        if (rejection != null) {
+            throw rejection;
+        }
+    }
+
+    /**
+     * Returns the reason why an application can not move from {@code oldStatus} to {@code newStatus}, or null when
+     * the transition is allowed.
+     */
+    public static String getStatusUpdateError(ApplicationStatus oldStatus, ApplicationStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return "Please select different status to update.";
+        }
+
+        switch (oldStatus) {
+            case APPLIED:
+                break;
+            case INVITED:
+                if (newStatus == APPLIED) {
+                    return "Please select different status to update as candidate is invited.";
+                }
+                break;
+            case REJECTED:
+            case HIRED:
+                return "Status update is not allowed as recruitment process is finished for this candidate.";
+        }
+        return null;
+    }
+
+    /**
+     * Statuses from which an application may be moved to {@code newStatus}.
+     */
+    public static Set<ApplicationStatus> getAllowedPreviousStatuses(ApplicationStatus newStatus) {
+        return ALLOWED_PREVIOUS_STATUSES.get(newStatus);
+    }
+}
@@ -0,0 +1,95 @@
+package org.heavenhr.recruitment.cache;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ApplicationCountCacheTest {
+
+    private ApplicationCountCache applicationCountCache;
+
+    @Before
+    public void init() {
+        applicationCountCache = new ApplicationCountCache(100, 60);
+    }
+
+    @Test
+    public void should_load_count_once() {
+        //given
+        applicationCountCache.get(1L, id -> 5);
+
+        //when
+        int count = applicationCountCache.get(1L, id -> 7);
+
+        //then
+        Assert.assertEquals(5, count);
+    }
+
+    @Test
+    public void should_reload_count_after_invalidation() {
+        //given
+        applicationCountCache.get(1L, id -> 5);
+
+        //when
+        applicationCountCache.invalidate(1L);
+
+        //then
+        Assert.assertNull(applicationCountCache.get(1L));
+        Assert.assertEquals(6, applicationCountCache.get(1L, id -> 6));
+    }
+
+    @Test
+    public void should_not_keep_count_loaded_before_application_was_committed() throws Exception {
+        //given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        Thread reader = new Thread(() -> applicationCountCache.get(1L, id -> {
+            // The count is read before the concurrent application is committed.
+            loading.countDown();
+            awaitQuietly(committed);
+            return 5;
+        }));
+        reader.start();
+        Assert.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        //when
+        Thread writer = new Thread(() -> applicationCountCache.invalidate(1L));
+        writer.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getState() == Thread.State.RUNNABLE && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        committed.countDown();
+        reader.join(5000);
+        writer.join(5000);
+
+        //then
+        Assert.assertNull(applicationCountCache.get(1L));
+        Assert.assertEquals(6, applicationCountCache.get(1L, id -> 6));
+    }
+
+    @Test
+    public void should_invalidate_all_counts() {
+        //given
+        applicationCountCache.get(1L, id -> 5);
+        applicationCountCache.get(2L, id -> 7);
+
+        //when
+        applicationCountCache.invalidateAll();
+
+        //then
+        Assert.assertNull(applicationCountCache.get(1L));
+        Assert.assertNull(applicationCountCache.get(2L));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.heavenhr.recruitment.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ApplicationEmailFilterTest {
+
+    @Test
+    public void should_treat_every_email_as_possible_duplicate_until_seeded() {
+        //given
+        ApplicationEmailFilter filter = new ApplicationEmailFilter(1000, 0.01);
+
+        //when
+        boolean mightContain = filter.mightContain(1L, "abc@test.com");
+
+        //then
+        Assert.assertTrue(mightContain);
+    }
+
+    @Test
+    public void should_never_miss_added_emails() {
+        //given
+        ApplicationEmailFilter filter = new ApplicationEmailFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put((long) i % 10, "user" + i + "@test.com");
+        }
+        filter.markSeeded();
+
+        //when
+        //then
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(filter.mightContain((long) i % 10, "user" + i + "@test.com"));
+        }
+    }
+
+    @Test
+    public void should_keep_false_positives_close_to_configured_rate() {
+        //given
+        ApplicationEmailFilter filter = new ApplicationEmailFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(1L, "user" + i + "@test.com");
+        }
+        filter.markSeeded();
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(2L, "user" + i + "@test.com")) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        Assert.assertTrue("False positives - " + falsePositives, falsePositives < 300);
+    }
+}
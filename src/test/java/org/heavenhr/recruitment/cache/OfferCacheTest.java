@@ -0,0 +1,75 @@
+package org.heavenhr.recruitment.cache;
+
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.mockito.Mockito.times;
+
+public class OfferCacheTest {
+
+    @Mock
+    private OfferRepository offerRepository;
+
+    private Offer offer;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        offer = Offer.builder().id(1L).jobTitle("test").startDate(Date.valueOf(LocalDate.now())).build();
+    }
+
+    @Test
+    public void should_load_offer_from_repository_only_once() {
+        //given
+        OfferCache offerCache = new OfferCache(offerRepository, true, 100, 60);
+        BDDMockito.when(offerRepository.findById(1L)).thenReturn(Optional.of(offer));
+
+        //when
+        Optional<Offer> first = offerCache.findById(1L);
+        Optional<Offer> second = offerCache.findById(1L);
+
+        //then
+        Assert.assertEquals(offer, first.get());
+        Assert.assertEquals(offer, second.get());
+        BDDMockito.verify(offerRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void should_not_cache_missing_offer() {
+        //given
+        OfferCache offerCache = new OfferCache(offerRepository, true, 100, 60);
+        BDDMockito.when(offerRepository.findById(1L)).thenReturn(Optional.empty());
+
+        //when
+        offerCache.findById(1L);
+        Optional<Offer> result = offerCache.findById(1L);
+
+        //then
+        Assert.assertFalse(result.isPresent());
+        BDDMockito.verify(offerRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    public void should_always_read_from_repository_when_disabled() {
+        //given
+        OfferCache offerCache = new OfferCache(offerRepository, false, 100, 60);
+        BDDMockito.when(offerRepository.findById(1L)).thenReturn(Optional.of(offer));
+
+        //when
+        offerCache.findById(1L);
+        offerCache.findById(1L);
+
+        //then
+        BDDMockito.verify(offerRepository, times(2)).findById(1L);
+    }
+}
@@ -0,0 +1,137 @@
+package org.heavenhr.recruitment.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.mapper.OfferMapper;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+
+public class OfferCatalogTest {
+
+    @Mock
+    private OfferRepository offerRepository;
+
+    private ObjectMapper objectMapper;
+
+    private OfferCatalog offerCatalog;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        objectMapper = new ObjectMapper();
+        offerCatalog = new OfferCatalog(offerRepository, objectMapper);
+    }
+
+    @Test
+    public void should_write_same_json_as_list_response() throws Exception {
+        //given
+        Offer first = createOffer(1L);
+        Offer second = createOffer(2L);
+        Offer third = createOffer(5L);
+        BDDMockito.when(offerRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(first, second, third));
+
+        //when
+        OfferCatalog.Page page = offerCatalog.getPage(1L, 1);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        page.writeTo(outputStream);
+
+        //then
+        String expected = objectMapper.writeValueAsString(OfferMapper.mapOfferListToResponseObject(
+                Collections.singletonList(second), 2L));
+        Assert.assertEquals(expected, outputStream.toString("UTF-8"));
+        Assert.assertEquals(outputStream.size(), page.getContentLength());
+    }
+
+    @Test
+    public void should_return_last_page_without_cursor() throws Exception {
+        //given
+        Offer first = createOffer(1L);
+        Offer second = createOffer(2L);
+        BDDMockito.when(offerRepository.findAll(any(Sort.class))).thenReturn(Arrays.asList(first, second));
+
+        //when
+        OfferCatalog.Page page = offerCatalog.getPage(0L, 20);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        page.writeTo(outputStream);
+
+        //then
+        String expected = objectMapper.writeValueAsString(OfferMapper.mapOfferListToResponseObject(
+                Arrays.asList(first, second)));
+        Assert.assertEquals(expected, outputStream.toString("UTF-8"));
+        Assert.assertEquals(outputStream.size(), page.getContentLength());
+    }
+
+    @Test
+    public void should_add_created_offer_without_reloading() {
+        //given
+        BDDMockito.when(offerRepository.findAll(any(Sort.class)))
+                .thenReturn(Collections.singletonList(createOffer(3L)));
+        offerCatalog.getPage(0L, 20);
+
+        //when
+        offerCatalog.add(createOffer(1L));
+        OfferCatalog.Page page = offerCatalog.getPage(0L, 20);
+
+        //then
+        Assert.assertEquals(2, page.getOfferCount());
+        Assert.assertEquals(1, offerCatalog.getPage(1L, 20).getOfferCount());
+        BDDMockito.verify(offerRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    public void should_load_all_offers_when_offer_is_added_before_first_read() {
+        //given
+        BDDMockito.when(offerRepository.findAll(any(Sort.class)))
+                .thenReturn(Arrays.asList(createOffer(1L), createOffer(2L)));
+
+        //when
+        offerCatalog.add(createOffer(3L));
+        OfferCatalog.Page page = offerCatalog.getPage(0L, 20);
+
+        //then
+        Assert.assertEquals(3, page.getOfferCount());
+        BDDMockito.verify(offerRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    public void should_report_change_only_when_refresh_found_new_offers() {
+        //given
+        BDDMockito.when(offerRepository.findAll(any(Sort.class)))
+                .thenReturn(Collections.singletonList(createOffer(1L)));
+        offerCatalog.refresh();
+
+        //when
+        boolean unchanged = offerCatalog.refresh();
+        BDDMockito.when(offerRepository.findAll(any(Sort.class)))
+                .thenReturn(Arrays.asList(createOffer(1L), createOffer(2L)));
+        boolean changed = offerCatalog.refresh();
+
+        //then
+        Assert.assertFalse(unchanged);
+        Assert.assertTrue(changed);
+        Assert.assertEquals(2, offerCatalog.getPage(0L, 20).getOfferCount());
+    }
+
+    private Offer createOffer(Long id) {
+        return Offer.builder()
+                .id(id)
+                .jobTitle("test " + id)
+                .startDate(Date.valueOf(LocalDate.now().plusDays(id)))
+                .build();
+    }
+}
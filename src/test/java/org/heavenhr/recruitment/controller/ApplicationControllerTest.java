@@ -4,9 +4,13 @@ import org.heavenhr.recruitment.TestBase;
 import org.heavenhr.recruitment.entity.Application;
 import org.heavenhr.recruitment.entity.ApplicationStatus;
 import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.model.request.BatchCreateApplicationRequest;
+import org.heavenhr.recruitment.model.request.BatchUpdateApplicationStatusRequest;
 import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
 import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsResponse;
+import org.heavenhr.recruitment.model.response.BatchItemResult;
+import org.heavenhr.recruitment.model.response.BatchResponse;
 import org.heavenhr.recruitment.repository.ApplicationRepository;
 import org.heavenhr.recruitment.repository.OfferRepository;
 import org.heavenhr.recruitment.utils.JsonUtils;
@@ -21,6 +25,8 @@ import org.springframework.test.web.servlet.MvcResult;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -156,6 +162,115 @@ public class ApplicationControllerTest extends TestBase {
         Assert.assertEquals(offer.getId(), response.getOffer().getId());
     }
 
+    @Test
+    public void should_create_applications_in_batch() throws Exception {
+        //given
+        CreateApplicationRequest createApplicationRequest = CreateApplicationRequest.builder()
+                .offerId(offer.getId())
+                .email("batch@test.com")
+                .resumeText("adadad")
+                .build();
+        CreateApplicationRequest duplicateApplicationRequest = CreateApplicationRequest.builder()
+                .offerId(offer.getId())
+                .email("batch@test.com")
+                .resumeText("adadad")
+                .build();
+        CreateApplicationRequest invalidOfferApplicationRequest = CreateApplicationRequest.builder()
+                .offerId(123456L)
+                .email("batch1@test.com")
+                .resumeText("adadad")
+                .build();
+
+        BatchCreateApplicationRequest batchCreateApplicationRequest = BatchCreateApplicationRequest.builder()
+                .applications(Arrays.asList(createApplicationRequest, duplicateApplicationRequest,
+                        invalidOfferApplicationRequest))
+                .build();
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/v1/applications/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.asJsonString(batchCreateApplicationRequest)))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        BatchResponse response = JsonUtils.parseJsonStringInObject(result.getResponse().getContentAsString(),
+                BatchResponse.class);
+        Assert.assertEquals(1, response.getSucceeded());
+        Assert.assertEquals(2, response.getFailed());
+        Assert.assertEquals(BatchItemResult.CREATED, response.getResults().get(0).getResult());
+        Assert.assertEquals("User with given email is already applied for this offer.",
+                response.getResults().get(1).getError());
+        Assert.assertEquals("Offer with given id does not exists.", response.getResults().get(2).getError());
+
+        Application application = applicationRepository.findById(response.getResults().get(0).getId()).get();
+        Assert.assertEquals("batch@test.com", application.getEmail());
+    }
+
+    @Test
+    public void should_return_request_validation_error_while_creating_empty_batch() throws Exception {
+        //given
+        BatchCreateApplicationRequest batchCreateApplicationRequest = BatchCreateApplicationRequest.builder()
+                .applications(Collections.emptyList())
+                .build();
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/v1/applications/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.asJsonString(batchCreateApplicationRequest)))
+                .andExpect(status().isUnprocessableEntity()).andReturn();
+
+        //then
+        Map error = JsonUtils.parseJsonStringInToMap(result.getResponse().getContentAsString());
+        List<String> errorMessages = (List<String>) error.get("error");
+
+        Assert.assertEquals(1, errorMessages.size());
+        Assert.assertTrue(errorMessages.get(0).startsWith("applications : "));
+    }
+
+    @Test
+    public void should_update_application_statuses_in_batch() throws Exception {
+        //given
+        Application application = Application.builder()
+                .email("batchStatusUpdate@test.com")
+                .resumeText("axy")
+                .offer(offer)
+                .status(ApplicationStatus.APPLIED)
+                .build();
+        application = applicationRepository.save(application);
+
+        Application hiredApplication = Application.builder()
+                .email("batchStatusUpdateHired@test.com")
+                .resumeText("axy")
+                .offer(offer)
+                .status(ApplicationStatus.HIRED)
+                .build();
+        hiredApplication = applicationRepository.save(hiredApplication);
+
+        BatchUpdateApplicationStatusRequest request = BatchUpdateApplicationStatusRequest.builder()
+                .applicationIds(Arrays.asList(application.getId(), hiredApplication.getId()))
+                .status(ApplicationStatus.REJECTED)
+                .build();
+
+        //when
+        MvcResult result = mockMvc.perform(put("/api/v1/applications/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.asJsonString(request)))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        BatchResponse response = JsonUtils.parseJsonStringInObject(result.getResponse().getContentAsString(),
+                BatchResponse.class);
+        Assert.assertEquals(1, response.getSucceeded());
+        Assert.assertEquals(BatchItemResult.UPDATED, response.getResults().get(0).getResult());
+        Assert.assertEquals("Status update is not allowed as recruitment process is finished for this candidate.",
+                response.getResults().get(1).getError());
+
+        Assert.assertEquals(ApplicationStatus.REJECTED,
+                applicationRepository.findById(application.getId()).get().getStatus());
+        Assert.assertEquals(ApplicationStatus.HIRED,
+                applicationRepository.findById(hiredApplication.getId()).get().getStatus());
+    }
+
     @Test
     public void should_return_request_validation_error_while_updating_application() throws Exception {
         //given
@@ -4,6 +4,8 @@ import org.heavenhr.recruitment.TestBase;
 import org.heavenhr.recruitment.entity.Application;
 import org.heavenhr.recruitment.entity.ApplicationStatus;
 import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.job.OfferCatalogRefreshJob;
+import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
 import org.heavenhr.recruitment.model.request.CreateOfferRequest;
 import org.heavenhr.recruitment.model.response.*;
 import org.heavenhr.recruitment.repository.ApplicationRepository;
@@ -12,6 +14,7 @@ import org.heavenhr.recruitment.utils.JsonUtils;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -24,8 +27,11 @@ import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class OfferControllerTest extends TestBase {
@@ -39,6 +45,9 @@ public class OfferControllerTest extends TestBase {
     @Autowired
     private ApplicationRepository applicationRepository;
 
+    @Autowired
+    private OfferCatalogRefreshJob offerCatalogRefreshJob;
+
     @Test
     public void should_return_request_validation_error_while_creating_offer() throws Exception {
         //given
@@ -150,6 +159,7 @@ public class OfferControllerTest extends TestBase {
         Map error = JsonUtils.parseJsonStringInToMap(result.getResponse().getContentAsString());
 
         Assert.assertEquals("Offer with given id does not exists.", error.get("error"));
+        Assert.assertEquals("OFFER_NOT_FOUND", error.get("code"));
     }
 
     @Test
@@ -181,6 +191,7 @@ public class OfferControllerTest extends TestBase {
                 .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
                 .build();
         givenOffer = offerRepository.save(givenOffer);
+        offerCatalogRefreshJob.refresh();
 
         //when
         MvcResult result = mockMvc.perform(get("/api/v1/offers")
@@ -192,6 +203,97 @@ public class OfferControllerTest extends TestBase {
         Assert.assertThat(response.getOffers(), hasItems(hasProperty("id", is(givenOffer.getId()))));
     }
 
+    @Test
+    public void should_return_offers_page_after_given_cursor() throws Exception {
+        //given
+        Offer givenOffer = Offer.builder()
+                .jobTitle("Test title offers page first")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        givenOffer = offerRepository.save(givenOffer);
+
+        Offer givenOffer1 = Offer.builder()
+                .jobTitle("Test title offers page second")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        givenOffer1 = offerRepository.save(givenOffer1);
+        offerCatalogRefreshJob.refresh();
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers")
+                .param("after", String.valueOf(givenOffer.getId() - 1))
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        OfferDetailsListResponse response = JsonUtils.parseJsonStringInObject(result.getResponse()
+                .getContentAsString(), OfferDetailsListResponse.class);
+        Assert.assertEquals(1, response.getOffers().size());
+        Assert.assertEquals(givenOffer.getId(), response.getOffers().get(0).getId());
+        Assert.assertEquals(givenOffer.getId(), response.getNextCursor());
+
+        //when
+        result = mockMvc.perform(get("/api/v1/offers")
+                .param("after", String.valueOf(response.getNextCursor()))
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        response = JsonUtils.parseJsonStringInObject(result.getResponse()
+                .getContentAsString(), OfferDetailsListResponse.class);
+        Assert.assertEquals(givenOffer1.getId(), response.getOffers().get(0).getId());
+    }
+
+    @Test
+    public void should_return_created_offer_in_all_offers_with_new_etag() throws Exception {
+        //given
+        MvcResult firstResult = mockMvc.perform(get("/api/v1/offers")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+        String eTag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        CreateOfferRequest createOfferRequest = CreateOfferRequest.builder()
+                .jobTitle("Test title catalog snapshot")
+                .startDate(LocalDate.now().plusMonths(1))
+                .build();
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/offers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.asJsonString(createOfferRequest)))
+                .andExpect(status().isCreated()).andReturn();
+        OfferDetailsResponse createdOffer = JsonUtils.parseJsonStringInObject(createResult.getResponse()
+                .getContentAsString(), OfferDetailsResponse.class);
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers")
+                .param("after", String.valueOf(createdOffer.getId() - 1))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        Assert.assertNotEquals(eTag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        OfferDetailsListResponse response = JsonUtils.parseJsonStringInObject(result.getResponse()
+                .getContentAsString(), OfferDetailsListResponse.class);
+        Assert.assertEquals(createdOffer, response.getOffers().get(0));
+    }
+
+    @Test
+    public void should_return_error_when_page_size_is_invalid_while_getting_all_offers() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers")
+                .param("limit", "0")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest()).andReturn();
+
+        //then
+        Map error = JsonUtils.parseJsonStringInToMap(result.getResponse().getContentAsString());
+
+        Assert.assertEquals("Page size should be greater than zero.", error.get("error"));
+    }
+
     @Test
     public void should_return_error_when_application_not_exists_while_getting_application_by_offer_id_and_application_id() throws Exception {
         //given
@@ -271,6 +373,150 @@ public class OfferControllerTest extends TestBase {
         Assert.assertThat(response.getApplications(), hasItems(hasProperty("id", is(application.getId()))));
     }
 
+    @Test
+    public void should_return_summary_of_all_application_by_offer_id() throws Exception {
+        //given
+        Offer givenOffer = Offer.builder()
+                .jobTitle("Test title get all application summaries")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        givenOffer = offerRepository.save(givenOffer);
+
+        Application application = Application.builder()
+                .offer(givenOffer)
+                .email("applicationsummaries@test.com")
+                .status(ApplicationStatus.INVITED)
+                .resumeText("tetet")
+                .build();
+        application = applicationRepository.save(application);
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications")
+                .param("view", "summary")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        Assert.assertFalse(result.getResponse().getContentAsString().contains("resumeText"));
+        ApplicationSummaryListResponse response = JsonUtils.parseJsonStringInObject(result.getResponse()
+                .getContentAsString(), ApplicationSummaryListResponse.class);
+        Assert.assertEquals(1, response.getApplications().size());
+        Assert.assertEquals(application.getId(), response.getApplications().get(0).getId());
+        Assert.assertEquals("applicationsummaries@test.com", response.getApplications().get(0).getEmail());
+        Assert.assertEquals(ApplicationStatus.INVITED.name(), response.getApplications().get(0).getStatus());
+    }
+
+    @Test
+    public void should_return_error_when_view_is_invalid_while_getting_all_application_by_offer_id() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers/1/applications")
+                .param("view", "compact")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest()).andReturn();
+
+        //then
+        Map error = JsonUtils.parseJsonStringInToMap(result.getResponse().getContentAsString());
+
+        Assert.assertEquals("View should be either full or summary.", error.get("error"));
+    }
+
+    @Test
+    public void should_stream_all_application_by_offer_id_as_ndjson() throws Exception {
+        //given
+        Offer givenOffer = Offer.builder()
+                .jobTitle("Test title stream all applications")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        givenOffer = offerRepository.save(givenOffer);
+
+        Application application = Application.builder()
+                .offer(givenOffer)
+                .email("streamapplications@test.com")
+                .status(ApplicationStatus.INVITED)
+                .resumeText("tetet")
+                .build();
+        application = applicationRepository.save(application);
+
+        Application application1 = Application.builder()
+                .offer(givenOffer)
+                .email("streamapplications1@test.com")
+                .status(ApplicationStatus.APPLIED)
+                .resumeText("tetet")
+                .build();
+        application1 = applicationRepository.save(application1);
+
+        //when
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications")
+                .accept(OfferController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(OfferController.APPLICATION_NDJSON_VALUE)).andReturn();
+
+        //then
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        Assert.assertEquals(2, lines.length);
+
+        List<Long> ids = new ArrayList<>();
+        for (String line : lines) {
+            ids.add(JsonUtils.parseJsonStringInObject(line, ApplicationDetailsResponse.class).getId());
+        }
+        Assert.assertThat(ids, containsInAnyOrder(application.getId(), application1.getId()));
+    }
+
+    @Test
+    public void should_search_applications_by_resume_text() throws Exception {
+        //given
+        Offer givenOffer = Offer.builder()
+                .jobTitle("Test title search applications")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        givenOffer = offerRepository.save(givenOffer);
+
+        String[] resumes = {"Java and Kafka", "Kafka, Kafka Streams and Kafka Connect", "Angular"};
+        for (int i = 0; i < resumes.length; i++) {
+            CreateApplicationRequest createApplicationRequest = CreateApplicationRequest.builder()
+                    .offerId(givenOffer.getId())
+                    .email("search" + i + "@test.com")
+                    .resumeText(resumes[i])
+                    .build();
+
+            mockMvc.perform(post("/api/v1/applications")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonUtils.asJsonString(createApplicationRequest)))
+                    .andExpect(status().isCreated());
+        }
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications/search")
+                .param("q", "kafka")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        ApplicationSearchListResponse response = JsonUtils.parseJsonStringInObject(result.getResponse()
+                .getContentAsString(), ApplicationSearchListResponse.class);
+        Assert.assertEquals(2, response.getApplications().size());
+        Assert.assertEquals("search1@test.com", response.getApplications().get(0).getEmail());
+        Assert.assertEquals("search0@test.com", response.getApplications().get(1).getEmail());
+        Assert.assertEquals(ApplicationStatus.APPLIED.name(), response.getApplications().get(0).getStatus());
+    }
+
+    @Test
+    public void should_return_error_when_query_is_empty_while_searching_applications() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers/1/applications/search")
+                .param("q", " ")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest()).andReturn();
+
+        //then
+        Map error = JsonUtils.parseJsonStringInToMap(result.getResponse().getContentAsString());
+
+        Assert.assertEquals("Search query should not be empty.", error.get("error"));
+    }
+
     @Test
     public void should_return_error_when_offerId_is_invalid_while_getting_application_count_by_offer_id() throws Exception {
         //given
@@ -296,22 +542,124 @@ public class OfferControllerTest extends TestBase {
                 .build();
         givenOffer = offerRepository.save(givenOffer);
 
-        Application application = Application.builder()
-                .offer(givenOffer)
+        CreateApplicationRequest createApplicationRequest = CreateApplicationRequest.builder()
+                .offerId(givenOffer.getId())
                 .email("application.count@test.com")
-                .status(ApplicationStatus.INVITED)
                 .resumeText("tetet")
                 .build();
-        application = applicationRepository.save(application);
+
+        mockMvc.perform(post("/api/v1/applications")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.asJsonString(createApplicationRequest)))
+                .andExpect(status().isCreated());
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications/count")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        ApplicationCountResponse response = JsonUtils.parseJsonStringInObject(result.getResponse()
+                .getContentAsString(), ApplicationCountResponse.class);
+        Assert.assertEquals(1, response.getNoOfApplications());
+    }
+
+    @Test
+    public void should_return_updated_application_count_after_count_is_cached() throws Exception {
+        //given
+        Offer givenOffer = Offer.builder()
+                .jobTitle("Test title cached applications count")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        givenOffer = offerRepository.save(givenOffer);
+
+        mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications/count")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        CreateApplicationRequest createApplicationRequest = CreateApplicationRequest.builder()
+                .offerId(givenOffer.getId())
+                .email("cached.application.count@test.com")
+                .resumeText("tetet")
+                .build();
+
+        mockMvc.perform(post("/api/v1/applications")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.asJsonString(createApplicationRequest)))
+                .andExpect(status().isCreated());
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications/count")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        ApplicationCountResponse response = JsonUtils.parseJsonStringInObject(result.getResponse()
+                .getContentAsString(), ApplicationCountResponse.class);
+        Assert.assertEquals(1, response.getNoOfApplications());
+    }
+
+    @Test
+    public void should_return_not_modified_when_applications_of_offer_did_not_change() throws Exception {
+        //given
+        Offer givenOffer = Offer.builder()
+                .jobTitle("Test title not modified applications")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        givenOffer = offerRepository.save(givenOffer);
+
+        MvcResult firstResult = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+        String eTag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified()).andReturn();
+
+        //then
+        Assert.assertThat(eTag, startsWith("W/"));
+        Assert.assertEquals(eTag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        Assert.assertEquals("", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void should_return_new_etag_after_application_of_offer_changed() throws Exception {
+        //given
+        Offer givenOffer = Offer.builder()
+                .jobTitle("Test title modified applications")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        givenOffer = offerRepository.save(givenOffer);
+
+        MvcResult firstResult = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications/count")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+        String eTag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        CreateApplicationRequest createApplicationRequest = CreateApplicationRequest.builder()
+                .offerId(givenOffer.getId())
+                .email("modified.applications@test.com")
+                .resumeText("tetet")
+                .build();
+
+        mockMvc.perform(post("/api/v1/applications")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtils.asJsonString(createApplicationRequest)))
+                .andExpect(status().isCreated());
 
         //when
         MvcResult result = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications/count")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk()).andReturn();
 
         //then
+        Assert.assertNotEquals(eTag, result.getResponse().getHeader(HttpHeaders.ETAG));
         ApplicationCountResponse response = JsonUtils.parseJsonStringInObject(result.getResponse()
                 .getContentAsString(), ApplicationCountResponse.class);
         Assert.assertEquals(1, response.getNoOfApplications());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package org.heavenhr.recruitment.datasource;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+public class ReplicationRoutingDataSourceTest {
+
+    private ReplicaLagGuard replicaLagGuard;
+
+    private ReplicationRoutingDataSource routingDataSource;
+
+    @Before
+    public void init() {
+        replicaLagGuard = new ReplicaLagGuard(60000);
+        routingDataSource = new ReplicationRoutingDataSource(Mockito.mock(DataSource.class),
+                Arrays.asList(Mockito.mock(DataSource.class), Mockito.mock(DataSource.class)), replicaLagGuard);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @After
+    public void cleanUp() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    public void should_route_writes_to_primary() {
+        //when
+        Object lookupKey = routingDataSource.determineCurrentLookupKey();
+
+        //then
+        Assert.assertEquals(ReplicationRoutingDataSource.PRIMARY, lookupKey);
+    }
+
+    @Test
+    public void should_route_read_only_transactions_to_replicas_in_turn() {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //when
+        Object first = routingDataSource.determineCurrentLookupKey();
+        Object second = routingDataSource.determineCurrentLookupKey();
+        Object third = routingDataSource.determineCurrentLookupKey();
+
+        //then
+        Assert.assertEquals(ReplicationRoutingDataSource.REPLICA + 0, first);
+        Assert.assertEquals(ReplicationRoutingDataSource.REPLICA + 1, second);
+        Assert.assertEquals(first, third);
+    }
+
+    @Test
+    public void should_route_reads_of_recently_written_offer_to_primary() {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaLagGuard.recordWrite(1L);
+
+        //when
+        replicaLagGuard.guardRead(2L);
+        Object otherOffer = routingDataSource.determineCurrentLookupKey();
+        replicaLagGuard.guardRead(1L);
+        Object writtenOffer = routingDataSource.determineCurrentLookupKey();
+
+        //then
+        Assert.assertNotEquals(ReplicationRoutingDataSource.PRIMARY, otherOffer);
+        Assert.assertEquals(ReplicationRoutingDataSource.PRIMARY, writtenOffer);
+    }
+
+    @Test
+    public void should_release_primary_after_transaction_completed() {
+        //given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaLagGuard.recordWrite(1L);
+        replicaLagGuard.guardRead(1L);
+
+        //when
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        //then
+        Assert.assertFalse(replicaLagGuard.isPrimaryRequired());
+    }
+}
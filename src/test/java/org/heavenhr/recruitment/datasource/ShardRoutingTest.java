@@ -0,0 +1,182 @@
+package org.heavenhr.recruitment.datasource;
+
+import org.heavenhr.recruitment.TestBase;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.job.OfferCatalogRefreshJob;
+import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
+import org.heavenhr.recruitment.model.request.CreateOfferRequest;
+import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
+import org.heavenhr.recruitment.model.response.ApplicationDetailsResponse;
+import org.heavenhr.recruitment.model.response.BatchResponse;
+import org.heavenhr.recruitment.model.response.OfferDetailsResponse;
+import org.heavenhr.recruitment.service.ApplicationBatchService;
+import org.heavenhr.recruitment.service.ApplicationService;
+import org.heavenhr.recruitment.service.OfferService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@ActiveProfiles("shards")
+public class ShardRoutingTest extends TestBase {
+
+    private static final int SHARD_COUNT = 3;
+
+    @Autowired
+    private ShardRouting shardRouting;
+
+    @Autowired
+    private OfferService offerService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationBatchService applicationBatchService;
+
+    @Autowired
+    private OfferCatalogRefreshJob offerCatalogRefreshJob;
+
+    @Test
+    public void should_store_applications_on_shard_of_offer() throws Exception {
+        //given
+        List<OfferDetailsResponse> offers = createOffers("Test title shard store");
+
+        //when
+        List<ApplicationDetailsResponse> applications = new ArrayList<>();
+        for (OfferDetailsResponse offer : offers) {
+            applications.add(applicationService.createApplication(CreateApplicationRequest.builder()
+                    .offerId(offer.getId())
+                    .email("shard@test.com")
+                    .resumeText("tetet")
+                    .build()));
+        }
+
+        //then
+        Assert.assertEquals(SHARD_COUNT, shardRouting.getShardCount());
+        for (int i = 0; i < offers.size(); i++) {
+            Long offerId = offers.get(i).getId();
+            int shard = shardRouting.shardOf(offerId);
+            Assert.assertEquals(shard, shardRouting.shardOf(applications.get(i).getId()));
+            for (int other = 0; other < SHARD_COUNT; other++) {
+                Assert.assertEquals(other == shard ? 1 : 0, countApplications(other, offerId));
+            }
+            Assert.assertEquals(1, applicationService.getAllApplicationsByOfferId(offerId).getApplications().size());
+            Assert.assertEquals(1, applicationService.getCountOfApplicationByOfferId(offerId).getNoOfApplications());
+        }
+    }
+
+    @Test
+    public void should_update_application_on_shard_of_its_id() {
+        //given
+        List<OfferDetailsResponse> offers = createOffers("Test title shard update");
+        List<Long> applicationIds = new ArrayList<>();
+        for (OfferDetailsResponse offer : offers) {
+            applicationIds.add(applicationService.createApplication(CreateApplicationRequest.builder()
+                    .offerId(offer.getId())
+                    .email("shard.update@test.com")
+                    .resumeText("tetet")
+                    .build()).getId());
+        }
+
+        //when
+        ApplicationDetailsResponse updated = applicationService.updateApplication(applicationIds.get(1),
+                UpdateApplicationRequest.builder().status(ApplicationStatus.INVITED).build());
+        BatchResponse batchResponse = applicationBatchService.updateApplicationStatuses(applicationIds,
+                ApplicationStatus.REJECTED);
+
+        //then
+        Assert.assertEquals(ApplicationStatus.INVITED.name(), updated.getStatus());
+        Assert.assertEquals(SHARD_COUNT, batchResponse.getSucceeded());
+        Assert.assertEquals(ApplicationStatus.REJECTED.name(), applicationService.getApplicationByOfferIdAndApplicationId(
+                offers.get(2).getId(), applicationIds.get(2)).getStatus());
+    }
+
+    @Test
+    public void should_create_batch_spanning_all_shards() {
+        //given
+        List<OfferDetailsResponse> offers = createOffers("Test title shard batch");
+        List<CreateApplicationRequest> requests = new ArrayList<>();
+        for (OfferDetailsResponse offer : offers) {
+            requests.add(CreateApplicationRequest.builder()
+                    .offerId(offer.getId())
+                    .email("shard.batch@test.com")
+                    .resumeText("tetet")
+                    .build());
+        }
+
+        //when
+        BatchResponse batchResponse = applicationBatchService.createApplications(requests);
+
+        //then
+        Assert.assertEquals(SHARD_COUNT, batchResponse.getSucceeded());
+        for (int i = 0; i < offers.size(); i++) {
+            Assert.assertEquals(shardRouting.shardOf(offers.get(i).getId()),
+                    shardRouting.shardOf(batchResponse.getResults().get(i).getId()));
+        }
+    }
+
+    @Test
+    public void should_copy_offer_again_when_missing_on_other_shard() throws Exception {
+        //given
+        Long offerId = createOffers("Test title shard repair").get(0).getId();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:shard2", "sa", "sa");
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM offer WHERE id = ?")) {
+            statement.setLong(1, offerId);
+            statement.executeUpdate();
+        }
+
+        //when
+        int copied = offerCatalogRefreshJob.repairShardCopies();
+
+        //then
+        Assert.assertEquals(1, copied);
+        Assert.assertEquals(0, offerCatalogRefreshJob.repairShardCopies());
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            Assert.assertEquals(1, countOffers(shard, offerId));
+        }
+    }
+
+    private List<OfferDetailsResponse> createOffers(String jobTitle) {
+        List<OfferDetailsResponse> offers = new ArrayList<>();
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            offers.add(offerService.CreateOffer(CreateOfferRequest.builder()
+                    .jobTitle(jobTitle + " " + i)
+                    .startDate(LocalDate.now().plusMonths(1))
+                    .build()));
+        }
+        return offers;
+    }
+
+    private int countOffers(int shard, Long offerId) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:shard" + shard, "sa", "sa");
+             PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM offer WHERE id = ?")) {
+            statement.setLong(1, offerId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private int countApplications(int shard, Long offerId) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:shard" + shard, "sa", "sa");
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM application WHERE offer_id = ?")) {
+            statement.setLong(1, offerId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+}
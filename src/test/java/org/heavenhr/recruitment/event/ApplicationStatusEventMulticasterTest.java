@@ -0,0 +1,99 @@
+package org.heavenhr.recruitment.event;
+
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.context.ApplicationListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ApplicationStatusEventMulticasterTest {
+
+    private ApplicationStatusEventMulticaster multicaster;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        multicaster.destroy();
+    }
+
+    @Test
+    public void should_deliver_events_of_an_application_in_order_off_the_publishing_thread() throws Exception {
+        //given
+        multicaster = new ApplicationStatusEventMulticaster(4, 1000, 100, 1000, true);
+        int noOfEvents = 200;
+        CountDownLatch delivered = new CountDownLatch(noOfEvents * 2);
+        List<Integer> firstApplicationEvents = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> secondApplicationEvents = Collections.synchronizedList(new ArrayList<>());
+        List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+
+        multicaster.addApplicationListener(new ApplicationListener<ApplicationStatusEvent>() {
+            @Override
+            public void onApplicationEvent(ApplicationStatusEvent event) {
+                threadNames.add(Thread.currentThread().getName());
+                List<Integer> events = event.getApplication().getId() == 1L
+                        ? firstApplicationEvents : secondApplicationEvents;
+                events.add((Integer) event.getSource());
+                delivered.countDown();
+            }
+        });
+
+        //when
+        for (int i = 0; i < noOfEvents; i++) {
+            multicaster.multicastEvent(createEvent(i, 1L));
+            multicaster.multicastEvent(createEvent(i, 2L));
+        }
+
+        //then
+        Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < noOfEvents; i++) {
+            Assert.assertEquals(Integer.valueOf(i), firstApplicationEvents.get(i));
+            Assert.assertEquals(Integer.valueOf(i), secondApplicationEvents.get(i));
+        }
+        Assert.assertFalse(threadNames.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void should_drop_events_when_queue_is_full() throws Exception {
+        //given
+        multicaster = new ApplicationStatusEventMulticaster(1, 1, 0, 1000, false);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        multicaster.addApplicationListener(new ApplicationListener<ApplicationStatusEvent>() {
+            @Override
+            public void onApplicationEvent(ApplicationStatusEvent event) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        //when
+        multicaster.multicastEvent(createEvent(0, 1L));
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        multicaster.multicastEvent(createEvent(1, 1L));
+        multicaster.multicastEvent(createEvent(2, 1L));
+
+        //then
+        Assert.assertEquals(1, multicaster.getQueueDepth());
+        Assert.assertEquals(1, multicaster.getDroppedEvents());
+        release.countDown();
+    }
+
+    private ApplicationStatusEvent createEvent(int sequence, Long applicationId) {
+        Application application = Application.builder()
+                .id(applicationId)
+                .status(ApplicationStatus.INVITED)
+                .build();
+        return new ApplicationStatusEvent(sequence, application, ApplicationStatus.APPLIED, ApplicationStatus.INVITED);
+    }
+}
@@ -0,0 +1,113 @@
+package org.heavenhr.recruitment.executor;
+
+import org.heavenhr.recruitment.TestBase;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.model.response.ApplicationCountResponse;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.heavenhr.recruitment.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles(BoundedReadExecutor.PROFILE)
+public class BoundedReadExecutorTest extends TestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private ReadExecutor readExecutor;
+
+    @Test
+    public void should_serve_reads_from_read_pool() throws Exception {
+        //given
+        Offer givenOffer = Offer.builder()
+                .jobTitle("Test title async reads")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        givenOffer = offerRepository.save(givenOffer);
+
+        //when
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/offers/" + givenOffer.getId() + "/applications/count")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        Assert.assertTrue(readExecutor instanceof BoundedReadExecutor);
+        ApplicationCountResponse response = JsonUtils.parseJsonStringInObject(result.getResponse()
+                .getContentAsString(), ApplicationCountResponse.class);
+        Assert.assertEquals(0, response.getNoOfApplications());
+    }
+
+    @Test
+    public void should_return_business_error_from_read_pool() throws Exception {
+        //when
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/offers/-1/applications/count")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isBadRequest()).andReturn();
+
+        //then
+        Map error = JsonUtils.parseJsonStringInToMap(result.getResponse().getContentAsString());
+        Assert.assertEquals("Offer with given id does not exists.", error.get("error"));
+    }
+
+    @Test
+    public void should_reject_reads_when_queue_is_full() throws Exception {
+        //given
+        BoundedReadExecutor boundedReadExecutor = new BoundedReadExecutor(1, 1, 1000);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            boundedReadExecutor.execute(() -> {
+                awaitQuietly(release);
+                return new ResponseEntity(HttpStatus.OK);
+            });
+            boundedReadExecutor.execute(() -> new ResponseEntity(HttpStatus.OK));
+
+            //when
+            try {
+                boundedReadExecutor.execute(() -> new ResponseEntity(HttpStatus.OK));
+                Assert.fail("RejectedExecutionException is expected.");
+            } catch (RejectedExecutionException ex) {
+                //then
+                Assert.assertEquals(1L, boundedReadExecutor.getRejectedReads());
+            }
+        } finally {
+            release.countDown();
+            boundedReadExecutor.destroy();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.heavenhr.recruitment.id;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH + 1000000L;
+
+    @Test
+    public void should_encode_timestamp_and_node() {
+        //given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, () -> NOW);
+
+        //when
+        long id = generator.nextId();
+
+        //then
+        Assert.assertEquals(NOW, SnowflakeIdGenerator.timestampOf(id));
+        Assert.assertEquals(7, SnowflakeIdGenerator.nodeOf(id));
+    }
+
+    @Test
+    public void should_keep_ids_increasing_when_clock_goes_back() {
+        //given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+        long first = generator.nextId();
+
+        //when
+        clock.set(NOW - 5000L);
+        long second = generator.nextId();
+        clock.set(NOW + 1L);
+        long third = generator.nextId();
+
+        //then
+        Assert.assertTrue(second > first);
+        Assert.assertTrue(third > second);
+    }
+
+    @Test
+    public void should_borrow_next_millisecond_when_sequence_is_used_up() {
+        //given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> NOW);
+        long previous = generator.nextId();
+
+        //when
+        for (int i = 0; i < 5000; i++) {
+            long id = generator.nextId();
+
+            //then
+            Assert.assertTrue(id > previous);
+            previous = id;
+        }
+        Assert.assertEquals(NOW + 1L, SnowflakeIdGenerator.timestampOf(previous));
+    }
+
+    @Test
+    public void should_continue_after_stored_id() {
+        //given
+        SnowflakeIdGenerator previousRun = new SnowflakeIdGenerator(3, () -> NOW + 60000L);
+        long storedId = previousRun.nextId();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, () -> NOW);
+
+        //when
+        generator.advancePast(storedId);
+        long id = generator.nextId();
+
+        //then
+        Assert.assertTrue(id > storedId);
+    }
+
+    @Test
+    public void should_create_unique_ids_across_threads() throws Exception {
+        //given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        Assert.assertEquals(8 * 20000, ids.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_node_id_out_of_range() {
+        new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1);
+    }
+}
@@ -0,0 +1,145 @@
+package org.heavenhr.recruitment.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.heavenhr.recruitment.TestBase;
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.event.ApplicationStatusEvent;
+import org.heavenhr.recruitment.event.ApplicationStatusEventMulticaster;
+import org.heavenhr.recruitment.job.ApplicationStatusOutboxRelay;
+import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
+import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.heavenhr.recruitment.service.ApplicationService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class ServiceOperationEventTest extends TestBase {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationStatusOutboxRelay applicationStatusOutboxRelay;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Test
+    public void should_record_service_operation_and_status_event_dispatch() throws Exception {
+        //given
+        Offer offer = offerRepository.save(Offer.builder()
+                .jobTitle("Test title flight recorder")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build());
+        Application application = applicationRepository.save(Application.builder()
+                .offer(offer)
+                .email("recorder@test.com")
+                .status(ApplicationStatus.APPLIED)
+                .resumeText("tetet")
+                .build());
+
+        //when
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("recruitment", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ServiceOperationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(ApplicationStatusPublishEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(ApplicationStatusDispatchEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            applicationService.updateApplication(application.getId(),
+                    UpdateApplicationRequest.builder().status(ApplicationStatus.INVITED).build());
+            applicationService.getAllApplicationsByOfferId(offer.getId());
+            applicationStatusOutboxRelay.relay();
+
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        //then
+        long applicationId = application.getId();
+        RecordedEvent update = single(events, ServiceOperationEvent.NAME, "updateApplication");
+        Assert.assertEquals("ApplicationServiceImpl", update.getString("service"));
+        Assert.assertEquals(offer.getId().longValue(), update.getLong("offerId"));
+        Assert.assertEquals(applicationId, update.getLong("applicationId"));
+        Assert.assertEquals("APPLIED", update.getString("oldStatus"));
+        Assert.assertEquals("INVITED", update.getString("newStatus"));
+        Assert.assertNull(update.getString("error"));
+
+        RecordedEvent list = single(events, ServiceOperationEvent.NAME, "getAllApplicationsByOfferId");
+        Assert.assertEquals(offer.getId().longValue(), list.getLong("offerId"));
+        Assert.assertEquals(1L, list.getLong("rowCount"));
+
+        Assert.assertTrue(events.stream().anyMatch(event -> event.getEventType().getName()
+                .equals(ApplicationStatusPublishEvent.NAME) && event.getLong("applicationId") == applicationId));
+        RecordedEvent dispatch = events.stream()
+                .filter(event -> event.getEventType().getName().equals(ApplicationStatusDispatchEvent.NAME)
+                        && event.getLong("applicationId") == applicationId)
+                .findFirst().orElseThrow(AssertionError::new);
+        Assert.assertEquals("INVITED", dispatch.getString("newStatus"));
+        Assert.assertFalse(dispatch.getBoolean("failed"));
+    }
+
+    @Test
+    public void should_not_record_status_events_when_disabled() throws Exception {
+        //given
+        long applicationId = 987654321L;
+        ApplicationStatusEventMulticaster multicaster = new ApplicationStatusEventMulticaster(1, 10, 0, 1000, false);
+        multicaster.addApplicationListener((ApplicationListener<ApplicationStatusEvent>) event -> {
+        });
+        ApplicationStatusEvent event = new ApplicationStatusEvent(this,
+                Application.builder().id(applicationId).status(ApplicationStatus.INVITED).build(),
+                ApplicationStatus.APPLIED, ApplicationStatus.INVITED);
+
+        //when
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("recruitment", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ApplicationStatusPublishEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(ApplicationStatusDispatchEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            multicaster.dispatch(event).get(10, TimeUnit.SECONDS);
+
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            multicaster.destroy();
+            Files.deleteIfExists(file);
+        }
+
+        //then
+        Assert.assertTrue(events.stream().noneMatch(recorded -> recorded.getLong("applicationId") == applicationId));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name, String operation) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name)
+                        && operation.equals(event.getString("operation")))
+                .collect(Collectors.toList());
+        Assert.assertEquals(1, matching.size());
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,50 @@
+package org.heavenhr.recruitment.job;
+
+import org.heavenhr.recruitment.TestBase;
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+public class ApplicationCountReconciliationJobTest extends TestBase {
+
+    @Autowired
+    private ApplicationCountReconciliationJob applicationCountReconciliationJob;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Test
+    public void should_repair_application_count_of_offer() {
+        //given
+        Offer offer = Offer.builder()
+                .jobTitle("Test title reconcile application count")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        offer = offerRepository.save(offer);
+
+        Application application = Application.builder()
+                .offer(offer)
+                .email("reconcile@test.com")
+                .status(ApplicationStatus.APPLIED)
+                .resumeText("tetet")
+                .build();
+        applicationRepository.save(application);
+
+        //when
+        applicationCountReconciliationJob.reconcile();
+
+        //then
+        Assert.assertEquals(1, offerRepository.findById(offer.getId()).get().getNoOfJobApplications());
+    }
+}
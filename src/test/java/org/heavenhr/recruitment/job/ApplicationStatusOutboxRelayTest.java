@@ -0,0 +1,177 @@
+package org.heavenhr.recruitment.job;
+
+import org.heavenhr.recruitment.TestBase;
+import org.heavenhr.recruitment.datasource.ShardRouting;
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.ApplicationStatusOutbox;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.event.ApplicationStatusEvent;
+import org.heavenhr.recruitment.event.ApplicationStatusEventMulticaster;
+import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
+import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.ApplicationStatusOutboxRepository;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.heavenhr.recruitment.service.ApplicationService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+
+public class ApplicationStatusOutboxRelayTest extends TestBase {
+
+    @Autowired
+    private ApplicationStatusOutboxRelay applicationStatusOutboxRelay;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationStatusOutboxRepository applicationStatusOutboxRepository;
+
+    @Test
+    public void should_record_status_change_and_mark_it_delivered_once_relayed() {
+        //given
+        Offer offer = Offer.builder()
+                .jobTitle("Test title relay status change")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        offer = offerRepository.save(offer);
+
+        Application application = Application.builder()
+                .offer(offer)
+                .email("relay@test.com")
+                .status(ApplicationStatus.APPLIED)
+                .resumeText("tetet")
+                .build();
+        application = applicationRepository.save(application);
+
+        applicationService.updateApplication(application.getId(),
+                UpdateApplicationRequest.builder().status(ApplicationStatus.INVITED).build());
+
+        //when
+        applicationStatusOutboxRelay.relay();
+
+        //then
+        Long applicationId = application.getId();
+        List<ApplicationStatusOutbox> statusChanges = applicationStatusOutboxRepository.findAll().stream()
+                .filter(statusChange -> statusChange.getApplicationId().equals(applicationId))
+                .collect(Collectors.toList());
+        Assert.assertEquals(1, statusChanges.size());
+        Assert.assertEquals(ApplicationStatus.APPLIED, statusChanges.get(0).getOldStatus());
+        Assert.assertEquals(ApplicationStatus.INVITED, statusChanges.get(0).getNewStatus());
+        Assert.assertEquals(offer.getId(), statusChanges.get(0).getOfferId());
+        Assert.assertEquals("relay@test.com", statusChanges.get(0).getEmail());
+        Assert.assertTrue(statusChanges.get(0).isDelivered());
+        Assert.assertNotNull(statusChanges.get(0).getDeliveredAt());
+    }
+
+    @Test
+    public void should_not_send_later_status_changes_of_an_application_after_a_failed_one() {
+        //given
+        ApplicationStatusOutboxRepository outboxRepository = Mockito.mock(ApplicationStatusOutboxRepository.class);
+        ApplicationStatusEventMulticaster multicaster = Mockito.mock(ApplicationStatusEventMulticaster.class);
+        ApplicationStatusOutboxRelay relay = new ApplicationStatusOutboxRelay(outboxRepository, multicaster,
+                new ShardRouting(new String[0]), 2, 1000, 24);
+
+        ApplicationStatusOutbox first = createStatusChange(1L, 10L, ApplicationStatus.APPLIED,
+                ApplicationStatus.INVITED);
+        ApplicationStatusOutbox other = createStatusChange(2L, 20L, ApplicationStatus.APPLIED,
+                ApplicationStatus.REJECTED);
+        ApplicationStatusOutbox second = createStatusChange(3L, 10L, ApplicationStatus.INVITED,
+                ApplicationStatus.REJECTED);
+        ApplicationStatusOutbox next = createStatusChange(4L, 30L, ApplicationStatus.APPLIED,
+                ApplicationStatus.INVITED);
+        BDDMockito.when(outboxRepository.findByDeliveredFalseAndIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(Arrays.asList(first, other));
+        BDDMockito.when(outboxRepository.findByDeliveredFalseAndIdGreaterThanOrderByIdAsc(eq(2L), any()))
+                .thenReturn(Arrays.asList(second, next));
+
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("listener failed"));
+        BDDMockito.when(multicaster.dispatch(any())).thenAnswer(invocation -> {
+            ApplicationStatusEvent event = invocation.getArgument(0);
+            return event.getApplication().getId() == 10L ? failed : CompletableFuture.completedFuture(null);
+        });
+
+        ArgumentCaptor<ApplicationStatusEvent> eventCaptor = ArgumentCaptor.forClass(ApplicationStatusEvent.class);
+
+        //when
+        int relayed = relay.relay();
+
+        //then
+        Assert.assertEquals(2, relayed);
+        BDDMockito.verify(outboxRepository).markDelivered(eq(Collections.singletonList(2L)), any());
+        BDDMockito.verify(outboxRepository).markDelivered(eq(Collections.singletonList(4L)), any());
+
+        BDDMockito.verify(multicaster, times(3)).dispatch(eventCaptor.capture());
+        List<ApplicationStatusEvent> events = eventCaptor.getAllValues();
+        Assert.assertEquals(Long.valueOf(10L), events.get(0).getApplication().getId());
+        Assert.assertEquals(ApplicationStatus.APPLIED, events.get(0).getOldStatus());
+        Assert.assertEquals(Long.valueOf(20L), events.get(1).getApplication().getId());
+        Assert.assertEquals(Long.valueOf(30L), events.get(2).getApplication().getId());
+        Assert.assertEquals(Long.valueOf(100L), events.get(2).getApplication().getOffer().getId());
+        Assert.assertEquals("relay-30@test.com", events.get(2).getApplication().getEmail());
+        Assert.assertEquals(ApplicationStatus.INVITED, events.get(2).getApplication().getStatus());
+    }
+
+    @Test
+    public void should_not_send_next_status_change_of_an_application_while_previous_one_is_pending() {
+        //given
+        ApplicationStatusOutboxRepository outboxRepository = Mockito.mock(ApplicationStatusOutboxRepository.class);
+        ApplicationStatusEventMulticaster multicaster = Mockito.mock(ApplicationStatusEventMulticaster.class);
+        ApplicationStatusOutboxRelay relay = new ApplicationStatusOutboxRelay(outboxRepository, multicaster,
+                new ShardRouting(new String[0]), 500, 100, 24);
+
+        ApplicationStatusOutbox first = createStatusChange(1L, 10L, ApplicationStatus.APPLIED,
+                ApplicationStatus.INVITED);
+        ApplicationStatusOutbox second = createStatusChange(2L, 10L, ApplicationStatus.INVITED,
+                ApplicationStatus.REJECTED);
+        BDDMockito.when(outboxRepository.findByDeliveredFalseAndIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(Arrays.asList(first, second));
+        BDDMockito.when(multicaster.dispatch(any())).thenReturn(new CompletableFuture<>());
+
+        ArgumentCaptor<ApplicationStatusEvent> eventCaptor = ArgumentCaptor.forClass(ApplicationStatusEvent.class);
+
+        //when
+        int relayed = relay.relay();
+
+        //then
+        Assert.assertEquals(0, relayed);
+        BDDMockito.verify(outboxRepository, times(0)).markDelivered(any(), any());
+        BDDMockito.verify(multicaster).dispatch(eventCaptor.capture());
+        Assert.assertEquals(ApplicationStatus.INVITED, eventCaptor.getValue().getNewStatus());
+    }
+
+    private ApplicationStatusOutbox createStatusChange(Long id, Long applicationId, ApplicationStatus oldStatus,
+                                                       ApplicationStatus newStatus) {
+        return ApplicationStatusOutbox.builder()
+                .id(id)
+                .applicationId(applicationId)
+                .offerId(100L)
+                .email("relay-" + applicationId + "@test.com")
+                .oldStatus(oldStatus)
+                .newStatus(newStatus)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package org.heavenhr.recruitment.job;
+
+import org.heavenhr.recruitment.TestBase;
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.heavenhr.recruitment.search.ResumeIndex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+public class ResumeIndexRebuildJobTest extends TestBase {
+
+    @Autowired
+    private ResumeIndexRebuildJob resumeIndexRebuildJob;
+
+    @Autowired
+    private ResumeIndex resumeIndex;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Test
+    public void should_index_resumes_stored_in_database() throws Exception {
+        //given
+        Offer offer = Offer.builder()
+                .jobTitle("Test title rebuild resume index")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        offer = offerRepository.save(offer);
+
+        Application application = Application.builder()
+                .offer(offer)
+                .email("rebuild@test.com")
+                .status(ApplicationStatus.APPLIED)
+                .resumeText("Erlang and Elixir")
+                .build();
+        application = applicationRepository.save(application);
+
+        //when
+        resumeIndexRebuildJob.rebuild();
+
+        //then
+        List<ResumeIndex.ScoredApplication> results = resumeIndex.search(offer.getId(), "elixir", 10);
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(application.getId().longValue(), results.get(0).getApplicationId());
+    }
+}
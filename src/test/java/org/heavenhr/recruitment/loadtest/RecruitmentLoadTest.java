@@ -0,0 +1,320 @@
+package org.heavenhr.recruitment.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
+import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
+import org.heavenhr.recruitment.model.response.BatchItemResponse;
+import org.heavenhr.recruitment.model.response.BatchItemResult;
+import org.heavenhr.recruitment.model.response.BatchResponse;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.heavenhr.recruitment.service.ApplicationBatchService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the HTTP API of an application started on a random port with a mix of reads and writes and reports
+ * throughput and latency percentiles per endpoint. Not part of the regular test run, start it with
+ * {@code mvn -P loadtest test}; all knobs are system properties prefixed with {@code loadtest.}, e.g.
+ * {@code -Dloadtest.clients=32 -Dloadtest.duration-seconds=60 -Dloadtest.mix=LIST_OFFERS:10,CREATE_APPLICATION:90}.
+ * <p>
+ * The dataset and the operations picked by every client are derived from {@code loadtest.seed}, so two runs on the
+ * same machine only differ by the code under test. Additional Spring profiles to compare, e.g. {@code async-reads},
+ * are passed as {@code -Dloadtest.profiles=async-reads}.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(resolver = RecruitmentLoadTest.ProfilesResolver.class)
+public class RecruitmentLoadTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecruitmentLoadTest.class);
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_US = TimeUnit.SECONDS.toMicros(60);
+    private static final ApplicationStatus[] TARGET_STATUSES = {ApplicationStatus.INVITED, ApplicationStatus.REJECTED,
+            ApplicationStatus.HIRED};
+
+    private final int clients = Integer.getInteger("loadtest.clients", 16);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+    private final int offers = Integer.getInteger("loadtest.offers", 20);
+    private final int applicationsPerOffer = Integer.getInteger("loadtest.applications-per-offer", 500);
+    private final long seed = Long.getLong("loadtest.seed", 42L);
+    private final String mix = System.getProperty("loadtest.mix",
+            "LIST_OFFERS:20,LIST_APPLICATIONS:25,COUNT_APPLICATIONS:25,CREATE_APPLICATION:25,UPDATE_STATUS:5");
+    private final String reportDirectory = System.getProperty("loadtest.report-dir", "target/loadtest");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private ApplicationBatchService applicationBatchService;
+
+    private final List<Long> offerIds = new ArrayList<>();
+    private final List<Long> applicationIds = new ArrayList<>();
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    private RestTemplate restTemplate;
+    private Operation[] weightedOperations;
+    private String baseUrl;
+
+    enum Operation {
+        LIST_OFFERS, LIST_APPLICATIONS, COUNT_APPLICATIONS, CREATE_APPLICATION, UPDATE_STATUS
+    }
+
+    @Before
+    public void init() {
+        baseUrl = "http://localhost:" + port + "/api/v1";
+        restTemplate = new RestTemplate();
+        restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+        });
+        weightedOperations = parseMix(mix);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+        seedDataset();
+    }
+
+    @Test
+    public void should_serve_mixed_load() throws Exception {
+        //given
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long recordUntil = recordFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        //when
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<?>> results = new ArrayList<>(clients);
+        for (int client = 0; client < clients; client++) {
+            Random random = new Random(seed + client);
+            results.add(executor.submit(() -> runClient(random, recordFrom, recordUntil)));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        //then
+        String report = writeReport();
+        LOG.info("Load test report{}{}", System.lineSeparator(), report);
+        stats.forEach((operation, endpointStats) ->
+                Assert.assertEquals(operation + " failed with server errors", 0, endpointStats.serverErrors.sum()));
+    }
+
+    private void runClient(Random random, long recordFrom, long recordUntil) {
+        long now;
+        while ((now = System.nanoTime()) < recordUntil) {
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            int statusCode = execute(operation, random);
+            long end = System.nanoTime();
+            if (now >= recordFrom) {
+                stats.get(operation).record(TimeUnit.NANOSECONDS.toMicros(end - now), statusCode);
+            }
+        }
+    }
+
+    private int execute(Operation operation, Random random) {
+        Long offerId = offerIds.get(random.nextInt(offerIds.size()));
+        switch (operation) {
+            case LIST_OFFERS:
+                return get("/offers?limit=20");
+            case LIST_APPLICATIONS:
+                return get("/offers/" + offerId + "/applications?view=summary");
+            case COUNT_APPLICATIONS:
+                return get("/offers/" + offerId + "/applications/count");
+            case CREATE_APPLICATION:
+                return send(HttpMethod.POST, "/applications", CreateApplicationRequest.builder()
+                        .offerId(offerId)
+                        .email("load" + emailSequence.incrementAndGet() + "@test.com")
+                        .resumeText("Java developer with Spring Boot and Kafka experience")
+                        .build());
+            case UPDATE_STATUS:
+                // Most seeded applications can only move once, later attempts are answered with 400 on purpose.
+                Long applicationId = applicationIds.get(random.nextInt(applicationIds.size()));
+                return send(HttpMethod.PUT, "/applications/" + applicationId, UpdateApplicationRequest.builder()
+                        .status(TARGET_STATUSES[random.nextInt(TARGET_STATUSES.length)])
+                        .build());
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private int get(String path) {
+        return restTemplate.exchange(baseUrl + path, HttpMethod.GET, null, byte[].class).getStatusCodeValue();
+    }
+
+    private int send(HttpMethod method, String path, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers), byte[].class)
+                .getStatusCodeValue();
+    }
+
+    private void seedDataset() {
+        Random random = new Random(seed);
+        String run = Long.toString(System.nanoTime(), 36);
+        for (int i = 0; i < offers; i++) {
+            Offer offer = offerRepository.save(Offer.builder()
+                    .jobTitle("Load test offer " + run + "-" + i)
+                    .startDate(Date.valueOf(LocalDate.now().plusDays(1 + random.nextInt(365))))
+                    .build());
+            offerIds.add(offer.getId());
+
+            List<CreateApplicationRequest> requests = new ArrayList<>(applicationsPerOffer);
+            for (int j = 0; j < applicationsPerOffer; j++) {
+                requests.add(CreateApplicationRequest.builder()
+                        .offerId(offer.getId())
+                        .email("seed" + run + "-" + i + "-" + j + "@test.com")
+                        .resumeText("Seeded resume " + random.nextInt(1000) + " Java Spring Kafka SQL")
+                        .build());
+            }
+            for (int from = 0; from < requests.size(); from += 5000) {
+                BatchResponse response = applicationBatchService.createApplications(requests.subList(from,
+                        Math.min(from + 5000, requests.size())));
+                for (BatchItemResponse item : response.getResults()) {
+                    if (item.getResult() == BatchItemResult.CREATED) {
+                        applicationIds.add(item.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    private Operation[] parseMix(String mix) {
+        List<Operation> operations = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = Operation.valueOf(parts[0].trim());
+            for (int i = 0; i < Integer.parseInt(parts[1].trim()); i++) {
+                operations.add(operation);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix should contain at least one operation");
+        }
+        return operations.toArray(new Operation[0]);
+    }
+
+    private String writeReport() throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("clients=%d warmup=%ds duration=%ds offers=%d applicationsPerOffer=%d seed=%d%n",
+                clients, warmupSeconds, durationSeconds, offers, applicationsPerOffer, seed));
+        report.append(String.format("%-20s %10s %10s %10s %10s %10s %10s %8s %8s%n", "endpoint", "requests",
+                "req/s", "p50(us)", "p99(us)", "p999(us)", "max(us)", "4xx", "5xx"));
+
+        StringBuilder json = new StringBuilder("{\"clients\":").append(clients)
+                .append(",\"durationSeconds\":").append(durationSeconds)
+                .append(",\"seed\":").append(seed)
+                .append(",\"endpoints\":{");
+
+        boolean first = true;
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().latencies;
+            long requests = histogram.getTotalCount();
+            double throughput = (double) requests / durationSeconds;
+            report.append(String.format("%-20s %10d %10.1f %10d %10d %10d %10d %8d %8d%n", entry.getKey(), requests,
+                    throughput, histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                    histogram.getValueAtPercentile(99.9), histogram.getMaxValue(),
+                    entry.getValue().clientErrors.sum(), entry.getValue().serverErrors.sum()));
+
+            json.append(first ? "" : ",").append('"').append(entry.getKey()).append("\":{")
+                    .append("\"requests\":").append(requests)
+                    .append(",\"throughput\":").append(String.format("%.1f", throughput))
+                    .append(",\"p50\":").append(histogram.getValueAtPercentile(50))
+                    .append(",\"p99\":").append(histogram.getValueAtPercentile(99))
+                    .append(",\"p999\":").append(histogram.getValueAtPercentile(99.9))
+                    .append(",\"max\":").append(histogram.getMaxValue())
+                    .append(",\"clientErrors\":").append(entry.getValue().clientErrors.sum())
+                    .append(",\"serverErrors\":").append(entry.getValue().serverErrors.sum())
+                    .append('}');
+            first = false;
+        }
+        json.append("}}");
+
+        Path directory = Paths.get(reportDirectory);
+        Files.createDirectories(directory);
+        String name = "report-" + System.currentTimeMillis();
+        Files.write(directory.resolve(name + ".txt"), report.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(name + ".json"), json.toString().getBytes(StandardCharsets.UTF_8));
+        return report.toString();
+    }
+
+    private static class EndpointStats {
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY_US, 3);
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+
+        void record(long latencyUs, int statusCode) {
+            latencies.recordValue(Math.min(latencyUs, HIGHEST_TRACKABLE_LATENCY_US));
+            if (statusCode >= 500) {
+                serverErrors.increment();
+            } else if (statusCode >= 400) {
+                clientErrors.increment();
+            }
+        }
+    }
+
+    /**
+     * Runs with the {@code test} profile plus the profiles listed in {@code loadtest.profiles}.
+     */
+    public static class ProfilesResolver implements ActiveProfilesResolver {
+
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            List<String> profiles = new ArrayList<>();
+            profiles.add("test");
+            for (String profile : System.getProperty("loadtest.profiles", "").split(",")) {
+                if (!profile.trim().isEmpty()) {
+                    profiles.add(profile.trim());
+                }
+            }
+            return profiles.toArray(new String[0]);
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
 import org.heavenhr.recruitment.model.response.ApplicationCountResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsListResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsResponse;
+import org.heavenhr.recruitment.model.response.ApplicationSummaryListResponse;
+import org.heavenhr.recruitment.repository.projection.ApplicationSummary;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -111,4 +113,35 @@ public class ApplicationMapperTest {
         //then
         Assert.assertEquals(count, response.getNoOfApplications());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void mapApplicationSummaryListToResponse() {
+        //given
+        ApplicationSummary summary = new ApplicationSummary() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+
+            @Override
+            public String getEmail() {
+                return "abc@test.com";
+            }
+
+            @Override
+            public ApplicationStatus getStatus() {
+                return ApplicationStatus.HIRED;
+            }
+        };
+
+        //when
+        ApplicationSummaryListResponse response = ApplicationMapper.mapApplicationSummaryListToResponse(
+                Arrays.asList(summary));
+
+        //then
+        Assert.assertEquals(1, response.getApplications().size());
+        Assert.assertEquals(summary.getId(), response.getApplications().get(0).getId());
+        Assert.assertEquals(summary.getEmail(), response.getApplications().get(0).getEmail());
+        Assert.assertEquals(summary.getStatus().name(), response.getApplications().get(0).getStatus());
+    }
+}
@@ -0,0 +1,92 @@
+package org.heavenhr.recruitment.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.heavenhr.recruitment.TestBase;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MethodMetricsAspectTest extends TestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Test
+    public void should_time_controller_service_and_repository_methods() throws Exception {
+        //given
+        Offer offer = Offer.builder()
+                .jobTitle("Test title method metrics")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+        offer = offerRepository.save(offer);
+
+        //when
+        mockMvc.perform(get("/api/v1/offers/" + offer.getId() + "/applications")
+                .param("view", "summary")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        //then
+        assertTimed("controller", "OfferController", "getAllApplicationsByOfferId");
+        assertTimed("service", "ApplicationServiceImpl", "getAllApplicationSummariesByOfferId");
+        assertTimed("repository", "ApplicationRepository", "findSummariesByOfferId");
+        assertTimed("repository", "OfferRepository", "save");
+    }
+
+    @Test
+    public void should_count_business_exceptions_and_publish_prometheus_metrics() throws Exception {
+        //given
+        double before = meterRegistry.counter("recruitment.exceptions",
+                "exception", "RecruitmentBusinessException", "status", "400").count();
+
+        //when
+        mockMvc.perform(get("/api/v1/offers/123456789/applications/count")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        MvcResult result = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        Assert.assertEquals(before + 1, meterRegistry.counter("recruitment.exceptions",
+                "exception", "RecruitmentBusinessException", "status", "400").count(), 0.0);
+        assertTimed("service", "ApplicationServiceImpl", "getCountOfApplicationByOfferId",
+                "RecruitmentBusinessException");
+
+        String metrics = result.getResponse().getContentAsString();
+        Assert.assertTrue(metrics.contains("recruitment_exceptions_total"));
+        Assert.assertTrue(metrics.contains("recruitment_method_seconds_bucket"));
+        Assert.assertTrue(metrics.contains("http_server_requests_seconds_bucket"));
+        Assert.assertTrue(metrics.contains("hikaricp_connections_active"));
+    }
+
+    private void assertTimed(String layer, String className, String method) {
+        assertTimed(layer, className, method, "none");
+    }
+
+    private void assertTimed(String layer, String className, String method, String exception) {
+        Timer timer = meterRegistry.find(MethodMetricsAspect.METRIC_NAME)
+                .tags("layer", layer, "class", className, "method", method, "exception", exception)
+                .timer();
+        Assert.assertNotNull(layer + " " + className + "." + method + " is not timed", timer);
+        Assert.assertTrue(timer.count() > 0);
+    }
+}
@@ -0,0 +1,76 @@
+package org.heavenhr.recruitment.metrics;
+
+import org.heavenhr.recruitment.TestBase;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ServerTimingFilterTest extends TestBase {
+
+    private static final Pattern SERVER_TIMING = Pattern.compile("ctrl;dur=(\\d+\\.\\d\\d), svc;dur=(\\d+\\.\\d\\d), "
+            + "db;desc=\"(\\d+) statements\";dur=(\\d+\\.\\d\\d), ser;dur=(\\d+\\.\\d\\d), total;dur=(\\d+\\.\\d\\d)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Test
+    public void should_answer_with_server_timing_of_each_phase() throws Exception {
+        //given
+        Offer offer = offerRepository.save(Offer.builder()
+                .jobTitle("Test title server timing")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build());
+
+        //when
+        MvcResult result = mockMvc.perform(get("/api/v1/offers/" + offer.getId() + "/applications")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn();
+
+        //then
+        String serverTiming = result.getResponse().getHeader(ServerTimingResponseWrapper.SERVER_TIMING_HEADER);
+        Assert.assertNotNull(serverTiming);
+        Matcher matcher = SERVER_TIMING.matcher(serverTiming);
+        Assert.assertTrue(serverTiming, matcher.matches());
+        double controller = Double.parseDouble(matcher.group(1));
+        double service = Double.parseDouble(matcher.group(2));
+        double total = Double.parseDouble(matcher.group(6));
+        Assert.assertTrue(Integer.parseInt(matcher.group(3)) > 0);
+        Assert.assertTrue(service <= controller);
+        Assert.assertTrue(controller <= total);
+    }
+
+    @Test
+    public void should_count_nested_phase_once() {
+        //given
+        RequestTiming timing = new RequestTiming();
+
+        //when
+        timing.start(RequestTiming.Phase.SERVICE);
+        timing.start(RequestTiming.Phase.SERVICE);
+        timing.stop(RequestTiming.Phase.SERVICE);
+        timing.recordStatement(2500000L);
+        timing.stop(RequestTiming.Phase.SERVICE);
+
+        //then
+        Assert.assertEquals(1, timing.getStatementCount());
+        Assert.assertEquals(2500000L, timing.getNanos(RequestTiming.Phase.DB));
+        Assert.assertTrue(timing.getNanos(RequestTiming.Phase.SERVICE) <= timing.getTotalNanos());
+        Assert.assertTrue(timing.toServerTiming().contains("db;desc=\"1 statements\";dur=2.50"));
+    }
+}
@@ -0,0 +1,113 @@
+package org.heavenhr.recruitment.repository;
+
+import org.heavenhr.recruitment.TestBase;
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.Offer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.startsWith;
+
+public class ApplicationRepositoryTest extends TestBase {
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void should_only_update_status_of_applications_still_at_version_read() {
+        //given
+        Offer offer = offerRepository.save(Offer.builder()
+                .jobTitle("Test title versioned status update")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build());
+        Application unchanged = applicationRepository.save(createApplication(offer, "unchanged@test.com"));
+        Application changed = applicationRepository.save(createApplication(offer, "changed@test.com"));
+
+        Map<Long, Long> versionsById = new LinkedHashMap<>();
+        versionsById.put(unchanged.getId(), unchanged.getVersion());
+        versionsById.put(changed.getId(), changed.getVersion());
+
+        // Another writer moves the second application on after it was read.
+        changed.setStatus(ApplicationStatus.INVITED);
+        applicationRepository.save(changed);
+
+        //when
+        Set<Long> updatedIds = new TransactionTemplate(transactionManager).execute(status ->
+                applicationRepository.updateStatusByIdAndVersionIn(versionsById, ApplicationStatus.REJECTED));
+
+        //then
+        Assert.assertEquals(Collections.singleton(unchanged.getId()), updatedIds);
+        Assert.assertEquals(ApplicationStatus.REJECTED,
+                applicationRepository.findById(unchanged.getId()).get().getStatus());
+        Assert.assertEquals(ApplicationStatus.INVITED,
+                applicationRepository.findById(changed.getId()).get().getStatus());
+    }
+
+    @Test
+    public void should_read_rows_again_when_driver_does_not_report_update_counts() throws Exception {
+        //given
+        Connection connection = Mockito.mock(Connection.class);
+        PreparedStatement update = Mockito.mock(PreparedStatement.class);
+        PreparedStatement select = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        BDDMockito.when(connection.prepareStatement(startsWith("UPDATE"))).thenReturn(update);
+        BDDMockito.when(connection.prepareStatement(startsWith("SELECT"))).thenReturn(select);
+        BDDMockito.when(update.executeBatch())
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, 0});
+        BDDMockito.when(select.executeQuery()).thenReturn(resultSet);
+
+        // The first application was updated, the second was moved on by another writer.
+        BDDMockito.when(resultSet.next()).thenReturn(true, true, false);
+        BDDMockito.when(resultSet.getLong(1)).thenReturn(1L, 2L);
+        BDDMockito.when(resultSet.getString(2)).thenReturn("REJECTED", "INVITED");
+        BDDMockito.when(resultSet.getLong(3)).thenReturn(11L, 21L);
+
+        Map<Long, Long> versionsById = new LinkedHashMap<>();
+        versionsById.put(1L, 10L);
+        versionsById.put(2L, 20L);
+        versionsById.put(3L, 30L);
+
+        //when
+        Set<Long> updatedIds = new ApplicationRepositoryCustomImpl().updateStatusByIdAndVersionIn(connection,
+                versionsById, ApplicationStatus.REJECTED);
+
+        //then
+        Assert.assertEquals(Collections.singleton(1L), updatedIds);
+        BDDMockito.verify(connection)
+                .prepareStatement("SELECT id, status, version FROM application WHERE id IN (?, ?)");
+        BDDMockito.verify(select).setLong(1, 1L);
+        BDDMockito.verify(select).setLong(2, 2L);
+    }
+
+    private Application createApplication(Offer offer, String email) {
+        return Application.builder()
+                .offer(offer)
+                .email(email)
+                .status(ApplicationStatus.APPLIED)
+                .resumeText("xyz")
+                .build();
+    }
+}
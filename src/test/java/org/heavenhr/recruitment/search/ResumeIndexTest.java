@@ -0,0 +1,97 @@
+package org.heavenhr.recruitment.search;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public class ResumeIndexTest {
+
+    private final ResumeIndex resumeIndex = new ResumeIndex();
+
+    @Test
+    public void should_tokenize_text_in_lower_case_terms() {
+        //when
+        List<String> terms = ResumeIndex.tokenize("Java, Kafka & a Spring-Boot dev.");
+
+        //then
+        Assert.assertEquals(Arrays.asList("java", "kafka", "spring", "boot", "dev"), terms);
+    }
+
+    @Test
+    public void should_tokenize_independent_of_default_locale() {
+        //given
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+
+        //when
+        List<String> terms;
+        try {
+            terms = ResumeIndex.tokenize("LINUX Administrator");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        //then
+        Assert.assertEquals(Arrays.asList("linux", "administrator"), terms);
+    }
+
+    @Test
+    public void should_rank_applications_mentioning_term_more_often_first() {
+        //given
+        resumeIndex.add(1L, 10L, "Java developer with some Kafka experience and lots of Java");
+        resumeIndex.add(1L, 11L, "Kafka Kafka Kafka streams");
+        resumeIndex.add(1L, 12L, "Frontend developer");
+        resumeIndex.add(2L, 20L, "Kafka");
+
+        //when
+        List<ResumeIndex.ScoredApplication> results = resumeIndex.search(1L, "kafka", 10);
+
+        //then
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals(11L, results.get(0).getApplicationId());
+        Assert.assertEquals(10L, results.get(1).getApplicationId());
+        Assert.assertTrue(results.get(0).getScore() > results.get(1).getScore());
+    }
+
+    @Test
+    public void should_rank_applications_matching_more_terms_first_and_apply_limit() {
+        //given
+        resumeIndex.add(1L, 10L, "Java");
+        resumeIndex.add(1L, 11L, "Java and Kafka");
+        resumeIndex.add(1L, 12L, "Kafka");
+
+        //when
+        List<ResumeIndex.ScoredApplication> results = resumeIndex.search(1L, "JAVA kafka", 2);
+
+        //then
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals(11L, results.get(0).getApplicationId());
+    }
+
+    @Test
+    public void should_ignore_application_which_is_already_indexed() {
+        //given
+        resumeIndex.add(1L, 10L, "Kafka");
+
+        //when
+        resumeIndex.add(1L, 10L, "Kafka");
+
+        //then
+        Assert.assertEquals(1, resumeIndex.size(1L));
+        Assert.assertEquals(1, resumeIndex.search(1L, "kafka", 10).size());
+    }
+
+    @Test
+    public void should_return_no_results_for_unknown_offer_or_term() {
+        //given
+        resumeIndex.add(1L, 10L, "Kafka");
+
+        //then
+        Assert.assertTrue(resumeIndex.search(2L, "kafka", 10).isEmpty());
+        Assert.assertTrue(resumeIndex.search(1L, "cobol", 10).isEmpty());
+        Assert.assertTrue(resumeIndex.search(1L, "?!", 10).isEmpty());
+    }
+}
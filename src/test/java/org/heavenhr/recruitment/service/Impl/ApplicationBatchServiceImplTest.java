@@ -0,0 +1,313 @@
+package org.heavenhr.recruitment.service.Impl;
+
+import org.heavenhr.recruitment.cache.ApplicationEmailFilter;
+import org.heavenhr.recruitment.datasource.ShardRouting;
+import org.heavenhr.recruitment.entity.Application;
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.ApplicationStatusOutbox;
+import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.event.ApplicationCreatedEvent;
+import org.heavenhr.recruitment.event.ApplicationsUpdatedEvent;
+import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
+import org.heavenhr.recruitment.model.response.BatchItemResult;
+import org.heavenhr.recruitment.model.response.BatchResponse;
+import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.ApplicationStatusOutboxRepository;
+import org.heavenhr.recruitment.repository.OfferRepository;
+import org.heavenhr.recruitment.service.ApplicationBatchService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+
+public class ApplicationBatchServiceImplTest {
+
+    @Mock
+    private OfferRepository offerRepository;
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationStatusOutboxRepository applicationStatusOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<ApplicationStatusOutbox>> statusChangesCaptor;
+
+    private ApplicationBatchService applicationBatchService;
+
+    private Offer offer;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        applicationBatchService = new ApplicationBatchServiceImpl(applicationRepository, offerRepository,
+                applicationEventPublisher, entityManager, applicationStatusOutboxRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ApplicationEmailFilter(1000, 0.01),
+                new ShardRouting(new String[0]), transactionManager, 2);
+
+        offer = Offer.builder().id(1L).jobTitle("test").startDate(Date.valueOf(LocalDate.now())).build();
+        BDDMockito.when(offerRepository.findAllById(any())).thenReturn(Collections.singletonList(offer));
+
+        AtomicLong ids = new AtomicLong();
+        BDDMockito.when(applicationRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Application> applications = invocation.getArgument(0);
+            applications.forEach(application -> application.setId(ids.incrementAndGet()));
+            return applications;
+        });
+    }
+
+    @Test
+    public void should_create_all_applications_of_batch() {
+        //given
+        CreateApplicationRequest request = createRequest(1L, "abc@test.com");
+        CreateApplicationRequest request1 = createRequest(1L, "xyz@test.com");
+        CreateApplicationRequest request2 = createRequest(1L, "pqr@test.com");
+
+        //when
+        BatchResponse response = applicationBatchService.createApplications(Arrays.asList(request, request1, request2));
+
+        //then
+        Assert.assertEquals(3, response.getSucceeded());
+        Assert.assertEquals(0, response.getFailed());
+        Assert.assertEquals(Long.valueOf(1L), response.getResults().get(0).getId());
+        Assert.assertEquals(BatchItemResult.CREATED, response.getResults().get(2).getResult());
+
+        BDDMockito.verify(applicationRepository, times(2)).saveAll(any());
+        BDDMockito.verify(applicationRepository, times(2)).flush();
+        BDDMockito.verify(offerRepository).increaseNoOfJobApplications(1L, 3);
+        BDDMockito.verify(applicationEventPublisher, times(3)).publishEvent(any(ApplicationCreatedEvent.class));
+    }
+
+    @Test
+    public void should_report_invalid_items_without_failing_batch() {
+        //given
+        BDDMockito.when(applicationRepository.findEmailsByOfferIdAndEmailIn(eq(1L), anyCollection()))
+                .thenReturn(Collections.singletonList("applied@test.com"));
+
+        CreateApplicationRequest valid = createRequest(1L, "abc@test.com");
+        CreateApplicationRequest alreadyApplied = createRequest(1L, "applied@test.com");
+        CreateApplicationRequest duplicateInBatch = createRequest(1L, "abc@test.com");
+        CreateApplicationRequest invalidOffer = createRequest(2L, "xyz@test.com");
+        CreateApplicationRequest invalidEmail = createRequest(1L, "invalid");
+
+        //when
+        BatchResponse response = applicationBatchService.createApplications(Arrays.asList(valid, alreadyApplied,
+                duplicateInBatch, invalidOffer, invalidEmail, null));
+
+        //then
+        Assert.assertEquals(1, response.getSucceeded());
+        Assert.assertEquals(5, response.getFailed());
+        Assert.assertEquals(BatchItemResult.CREATED, response.getResults().get(0).getResult());
+        Assert.assertEquals("User with given email is already applied for this offer.",
+                response.getResults().get(1).getError());
+        Assert.assertEquals("User with given email is already applied for this offer.",
+                response.getResults().get(2).getError());
+        Assert.assertEquals("Offer with given id does not exists.", response.getResults().get(3).getError());
+        Assert.assertEquals("email : must be a well-formed email address", response.getResults().get(4).getError());
+        Assert.assertEquals("Application must not be null.", response.getResults().get(5).getError());
+
+        BDDMockito.verify(offerRepository).increaseNoOfJobApplications(1L, 1);
+    }
+
+    @Test
+    public void should_report_concurrently_created_application_as_duplicate_and_create_the_others() {
+        //given
+        BDDMockito.doNothing()
+                .doThrow(new DataIntegrityViolationException("duplicate"))
+                .doNothing()
+                .when(applicationRepository).flush();
+        BDDMockito.when(applicationRepository.findEmailsByOfferIdAndEmailIn(eq(1L), anyCollection()))
+                .thenReturn(Collections.emptyList(), Collections.singletonList("pqr@test.com"));
+
+        CreateApplicationRequest request = createRequest(1L, "abc@test.com");
+        CreateApplicationRequest request1 = createRequest(1L, "xyz@test.com");
+        CreateApplicationRequest concurrent = createRequest(1L, "pqr@test.com");
+
+        //when
+        BatchResponse response = applicationBatchService.createApplications(Arrays.asList(request, request1,
+                concurrent));
+
+        //then
+        Assert.assertEquals(2, response.getSucceeded());
+        Assert.assertEquals(1, response.getFailed());
+        Assert.assertEquals(BatchItemResult.CREATED, response.getResults().get(0).getResult());
+        Assert.assertEquals(BatchItemResult.CREATED, response.getResults().get(1).getResult());
+        Assert.assertEquals("User with given email is already applied for this offer.",
+                response.getResults().get(2).getError());
+
+        BDDMockito.verify(offerRepository).increaseNoOfJobApplications(1L, 2);
+        BDDMockito.verify(applicationEventPublisher, times(2)).publishEvent(any(ApplicationCreatedEvent.class));
+    }
+
+    @Test
+    public void should_fail_items_when_applications_keep_being_created_concurrently() {
+        //given
+        BDDMockito.doThrow(new DataIntegrityViolationException("duplicate")).when(applicationRepository).flush();
+
+        //when
+        BatchResponse response = applicationBatchService.createApplications(Arrays.asList(
+                createRequest(1L, "abc@test.com"), createRequest(1L, "invalid")));
+
+        //then
+        Assert.assertEquals(0, response.getSucceeded());
+        Assert.assertEquals(2, response.getFailed());
+        Assert.assertEquals("Applications were created concurrently for this batch, please retry.",
+                response.getResults().get(0).getError());
+        Assert.assertEquals("email : must be a well-formed email address", response.getResults().get(1).getError());
+        BDDMockito.verify(applicationRepository, times(ApplicationBatchServiceImpl.MAX_CREATE_ATTEMPTS)).flush();
+    }
+
+    @Test
+    public void should_keep_committed_shards_when_later_shard_keeps_failing() {
+        //given
+        applicationBatchService = new ApplicationBatchServiceImpl(applicationRepository, offerRepository,
+                applicationEventPublisher, entityManager, applicationStatusOutboxRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ApplicationEmailFilter(1000, 0.01),
+                new ShardRouting(new String[]{"shard0", "shard1"}), transactionManager, 2);
+        Offer otherOffer = Offer.builder().id(2L).jobTitle("other").startDate(Date.valueOf(LocalDate.now())).build();
+        BDDMockito.when(offerRepository.findAllById(any())).thenReturn(Arrays.asList(offer, otherOffer));
+        BDDMockito.doAnswer(invocation -> {
+            Iterable<Application> applications = invocation.getArgument(0);
+            for (Application application : applications) {
+                if (application.getOffer().getId() == 1L) {
+                    throw new DataIntegrityViolationException("duplicate");
+                }
+                application.setId(application.getOffer().getId());
+            }
+            return applications;
+        }).when(applicationRepository).saveAll(any());
+
+        //when
+        BatchResponse response = applicationBatchService.createApplications(Arrays.asList(
+                createRequest(1L, "abc@test.com"), createRequest(2L, "abc@test.com")));
+
+        //then
+        Assert.assertEquals(1, response.getSucceeded());
+        Assert.assertEquals(1, response.getFailed());
+        Assert.assertEquals("Applications were created concurrently for this batch, please retry.",
+                response.getResults().get(0).getError());
+        Assert.assertEquals(BatchItemResult.CREATED, response.getResults().get(1).getResult());
+        Assert.assertEquals(Long.valueOf(2L), response.getResults().get(1).getId());
+    }
+
+    @Test
+    public void should_update_statuses_and_report_not_allowed_transitions() {
+        //given
+        Application applied = createApplication(1L, ApplicationStatus.APPLIED);
+        Application invited = createApplication(2L, ApplicationStatus.INVITED);
+        Application hired = createApplication(3L, ApplicationStatus.HIRED);
+
+        BDDMockito.when(applicationRepository.findAllById(any())).thenReturn(Arrays.asList(applied, invited, hired));
+        BDDMockito.when(applicationRepository.updateStatusByIdAndVersionIn(any(), eq(ApplicationStatus.REJECTED)))
+                .thenReturn(new HashSet<>(Arrays.asList(1L, 2L)));
+
+        //when
+        BatchResponse response = applicationBatchService.updateApplicationStatuses(Arrays.asList(1L, 2L, 3L, 4L, 1L),
+                ApplicationStatus.REJECTED);
+
+        //then
+        Assert.assertEquals(2, response.getSucceeded());
+        Assert.assertEquals(3, response.getFailed());
+        Assert.assertEquals(BatchItemResult.UPDATED, response.getResults().get(0).getResult());
+        Assert.assertEquals(BatchItemResult.UPDATED, response.getResults().get(1).getResult());
+        Assert.assertEquals("Status update is not allowed as recruitment process is finished for this candidate.",
+                response.getResults().get(2).getError());
+        Assert.assertEquals("Application does not exists.", response.getResults().get(3).getError());
+        Assert.assertEquals("Application is already part of this batch.", response.getResults().get(4).getError());
+
+        Map<Long, Long> versionsById = new HashMap<>();
+        versionsById.put(1L, 10L);
+        versionsById.put(2L, 20L);
+        BDDMockito.verify(applicationRepository).updateStatusByIdAndVersionIn(versionsById,
+                ApplicationStatus.REJECTED);
+
+        BDDMockito.verify(applicationStatusOutboxRepository).saveAll(statusChangesCaptor.capture());
+        List<ApplicationStatusOutbox> statusChanges = statusChangesCaptor.getValue();
+        Assert.assertEquals(2, statusChanges.size());
+        Assert.assertEquals(ApplicationStatus.APPLIED, statusChanges.get(0).getOldStatus());
+        Assert.assertEquals(ApplicationStatus.INVITED, statusChanges.get(1).getOldStatus());
+        Assert.assertEquals(ApplicationStatus.REJECTED, statusChanges.get(1).getNewStatus());
+
+        ArgumentCaptor<ApplicationsUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(ApplicationsUpdatedEvent.class);
+        BDDMockito.verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+        Assert.assertEquals(Collections.singleton(offer.getId()), eventCaptor.getValue().getOfferIds());
+    }
+
+    @Test
+    public void should_report_applications_updated_concurrently() {
+        //given
+        Application applied = createApplication(1L, ApplicationStatus.APPLIED);
+        Application applied1 = createApplication(2L, ApplicationStatus.APPLIED);
+
+        BDDMockito.when(applicationRepository.findAllById(any())).thenReturn(Arrays.asList(applied, applied1));
+        // The first application was changed by another writer after it was read, so its version no longer matches.
+        BDDMockito.when(applicationRepository.updateStatusByIdAndVersionIn(any(), eq(ApplicationStatus.INVITED)))
+                .thenReturn(Collections.singleton(2L));
+
+        //when
+        BatchResponse response = applicationBatchService.updateApplicationStatuses(Arrays.asList(1L, 2L),
+                ApplicationStatus.INVITED);
+
+        //then
+        Assert.assertEquals(1, response.getSucceeded());
+        Assert.assertEquals("Application was updated concurrently, please retry.",
+                response.getResults().get(0).getError());
+        Assert.assertEquals(BatchItemResult.UPDATED, response.getResults().get(1).getResult());
+        BDDMockito.verify(applicationStatusOutboxRepository).saveAll(statusChangesCaptor.capture());
+        Assert.assertEquals(Long.valueOf(2L), statusChangesCaptor.getValue().get(0).getApplicationId());
+        Assert.assertEquals(1, statusChangesCaptor.getValue().size());
+    }
+
+    private Application createApplication(Long id, ApplicationStatus status) {
+        return Application.builder()
+                .id(id)
+                .offer(offer)
+                .email(id + "@test.com")
+                .resumeText("xyz")
+                .status(status)
+                .version(id * 10)
+                .build();
+    }
+
+    private CreateApplicationRequest createRequest(Long offerId, String email) {
+        return CreateApplicationRequest.builder()
+                .offerId(offerId)
+                .email(email)
+                .resumeText("xyz")
+                .build();
+    }
+}
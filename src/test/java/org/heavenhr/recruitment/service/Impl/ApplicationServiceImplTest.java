@@ -1,18 +1,27 @@
 package org.heavenhr.recruitment.service.Impl;
 
+import org.heavenhr.recruitment.cache.ApplicationCountCache;
+import org.heavenhr.recruitment.cache.ApplicationEmailFilter;
+import org.heavenhr.recruitment.cache.OfferCache;
+import org.heavenhr.recruitment.datasource.ReplicaLagGuard;
 import org.heavenhr.recruitment.entity.Application;
 import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.entity.ApplicationStatusOutbox;
 import org.heavenhr.recruitment.entity.Offer;
-import org.heavenhr.recruitment.event.ApplicationStatusEvent;
+import org.heavenhr.recruitment.event.ApplicationCreatedEvent;
+import org.heavenhr.recruitment.event.ApplicationsUpdatedEvent;
 import org.heavenhr.recruitment.exception.RecruitmentBusinessException;
+import org.heavenhr.recruitment.exception.RecruitmentConflictException;
 import org.heavenhr.recruitment.model.request.CreateApplicationRequest;
 import org.heavenhr.recruitment.model.request.UpdateApplicationRequest;
 import org.heavenhr.recruitment.model.response.ApplicationCountResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsListResponse;
 import org.heavenhr.recruitment.model.response.ApplicationDetailsResponse;
 import org.heavenhr.recruitment.repository.ApplicationRepository;
+import org.heavenhr.recruitment.repository.ApplicationStatusOutboxRepository;
 import org.heavenhr.recruitment.repository.OfferRepository;
 import org.heavenhr.recruitment.service.ApplicationService;
+import org.heavenhr.recruitment.validator.ApplicationStatusValidator;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -22,11 +31,17 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.persistence.EntityManager;
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -42,13 +57,30 @@ public class ApplicationServiceImplTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationStatusOutboxRepository applicationStatusOutboxRepository;
+
+    private ApplicationCountCache applicationCountCache;
+
+    private ApplicationEmailFilter applicationEmailFilter;
+
     private ApplicationService applicationService;
 
     @Before
     public void init() {
         MockitoAnnotations.initMocks(this);
+        applicationCountCache = new ApplicationCountCache(100, 60);
+        applicationEmailFilter = new ApplicationEmailFilter(1000, 0.01);
         applicationService = new ApplicationServiceImpl(applicationRepository, offerRepository,
-                applicationEventPublisher);
+                applicationEventPublisher, entityManager, applicationCountCache,
+                new OfferCache(offerRepository, true, 100, 60), applicationStatusOutboxRepository,
+                applicationEmailFilter, new ReplicaLagGuard(1000), transactionManager);
     }
 
     @Test(expected = RecruitmentBusinessException.class)
@@ -88,7 +120,7 @@ public class ApplicationServiceImplTest {
 
         Offer offer = Offer.builder().id(offerId).jobTitle("test").startDate(Date.valueOf(LocalDate.now())).build();
         BDDMockito.when(offerRepository.findById(offerId)).thenReturn(Optional.of(offer));
-        BDDMockito.when(applicationRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate email"));
+        BDDMockito.when(applicationRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate email"));
 
         //when
         applicationService.createApplication(request);
@@ -97,6 +129,59 @@ public class ApplicationServiceImplTest {
         //RecruitmentBusinessException is expected.
     }
 
+    @Test
+    public void should_reject_duplicate_application_without_inserting_it() {
+        //given
+        String email = "abc@test.com";
+        Long offerId = 1L;
+
+        CreateApplicationRequest request = CreateApplicationRequest.builder()
+                .offerId(offerId)
+                .email(email)
+                .resumeText("xyz")
+                .build();
+
+        Offer offer = Offer.builder().id(offerId).jobTitle("test").startDate(Date.valueOf(LocalDate.now())).build();
+        BDDMockito.when(offerRepository.findById(offerId)).thenReturn(Optional.of(offer));
+        BDDMockito.when(applicationRepository.existsByOfferIdAndEmail(offerId, email)).thenReturn(true);
+        applicationEmailFilter.put(offerId, email);
+        applicationEmailFilter.markSeeded();
+
+        //when
+        try {
+            applicationService.createApplication(request);
+            Assert.fail("RecruitmentBusinessException is expected.");
+        } catch (RecruitmentBusinessException ex) {
+            //then
+            Assert.assertEquals("User with given email is already applied for this offer.", ex.getMessage());
+        }
+        BDDMockito.verify(applicationRepository, BDDMockito.never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void should_skip_duplicate_check_when_email_is_not_in_filter() {
+        //given
+        Long offerId = 1L;
+
+        CreateApplicationRequest request = CreateApplicationRequest.builder()
+                .offerId(offerId)
+                .email("new@test.com")
+                .resumeText("xyz")
+                .build();
+
+        Offer offer = Offer.builder().id(offerId).jobTitle("test").startDate(Date.valueOf(LocalDate.now())).build();
+        BDDMockito.when(offerRepository.findById(offerId)).thenReturn(Optional.of(offer));
+        BDDMockito.when(applicationRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        applicationEmailFilter.markSeeded();
+
+        //when
+        applicationService.createApplication(request);
+
+        //then
+        BDDMockito.verify(applicationRepository, BDDMockito.never()).existsByOfferIdAndEmail(any(), any());
+        Assert.assertTrue(applicationEmailFilter.mightContain(offerId, "new@test.com"));
+    }
+
     @Test
     public void should_create_application() {
         //given
@@ -121,7 +206,7 @@ public class ApplicationServiceImplTest {
                 .build();
 
         ArgumentCaptor<Application> createApplicationCaptor = ArgumentCaptor.forClass(Application.class);
-        BDDMockito.when(applicationRepository.save(any())).thenReturn(expectedApplication);
+        BDDMockito.when(applicationRepository.saveAndFlush(any())).thenReturn(expectedApplication);
 
         //when
         ApplicationDetailsResponse response = applicationService.createApplication(request);
@@ -131,11 +216,14 @@ public class ApplicationServiceImplTest {
         Assert.assertEquals(offerId, response.getOffer().getId());
         Assert.assertEquals(resumeText, response.getResumeText());
 
-        BDDMockito.verify(applicationRepository).save(createApplicationCaptor.capture());
+        BDDMockito.verify(applicationRepository).saveAndFlush(createApplicationCaptor.capture());
         Application application = createApplicationCaptor.getValue();
         Assert.assertEquals(email, application.getEmail());
         Assert.assertEquals(offerId, application.getOffer().getId());
         Assert.assertEquals(resumeText, application.getResumeText());
+
+        BDDMockito.verify(offerRepository).increaseNoOfJobApplications(offerId, 1);
+        BDDMockito.verify(applicationEventPublisher).publishEvent(any(ApplicationCreatedEvent.class));
     }
 
     @Test(expected = RecruitmentBusinessException.class)
@@ -146,7 +234,7 @@ public class ApplicationServiceImplTest {
                 .status(ApplicationStatus.APPLIED)
                 .build();
 
-        BDDMockito.when(applicationRepository.findById(invalidId)).thenReturn(Optional.empty());
+        BDDMockito.when(applicationRepository.findWithResumeById(invalidId)).thenReturn(Optional.empty());
 
         //when
         applicationService.updateApplication(invalidId, request);
@@ -175,7 +263,8 @@ public class ApplicationServiceImplTest {
                 .status(ApplicationStatus.APPLIED)
                 .build();
 
-        BDDMockito.when(applicationRepository.findById(applicationId)).thenReturn(Optional.of(expectedApplication));
+        BDDMockito.when(applicationRepository.findWithResumeById(applicationId))
+                .thenReturn(Optional.of(expectedApplication));
 
         //when
         applicationService.updateApplication(applicationId, request);
@@ -204,7 +293,8 @@ public class ApplicationServiceImplTest {
                 .status(ApplicationStatus.INVITED)
                 .build();
 
-        BDDMockito.when(applicationRepository.findById(applicationId)).thenReturn(Optional.of(expectedApplication));
+        BDDMockito.when(applicationRepository.findWithResumeById(applicationId))
+                .thenReturn(Optional.of(expectedApplication));
 
         //when
         applicationService.updateApplication(applicationId, request);
@@ -233,7 +323,8 @@ public class ApplicationServiceImplTest {
                 .status(ApplicationStatus.HIRED)
                 .build();
 
-        BDDMockito.when(applicationRepository.findById(applicationId)).thenReturn(Optional.of(expectedApplication));
+        BDDMockito.when(applicationRepository.findWithResumeById(applicationId))
+                .thenReturn(Optional.of(expectedApplication));
 
         //when
         applicationService.updateApplication(applicationId, request);
@@ -249,6 +340,7 @@ public class ApplicationServiceImplTest {
         String email = "abc@test.com";
         String resumeText = "xyz";
         Long applicationId = 1L;
+        Long version = 3L;
         ApplicationStatus status = ApplicationStatus.INVITED;
 
         UpdateApplicationRequest request = UpdateApplicationRequest.builder()
@@ -263,23 +355,15 @@ public class ApplicationServiceImplTest {
                 .email(email)
                 .resumeText(resumeText)
                 .status(ApplicationStatus.APPLIED)
+                .version(version)
                 .build();
 
-        Application updatedApplication = Application.builder()
-                .id(applicationId)
-                .offer(offer)
-                .email(email)
-                .resumeText(resumeText)
-                .status(status)
-                .build();
-
-        ArgumentCaptor<Application> updateApplicationCaptor = ArgumentCaptor.forClass(Application.class);
-        BDDMockito.when(applicationRepository.findById(applicationId))
+        BDDMockito.when(applicationRepository.findWithResumeById(applicationId))
                 .thenReturn(Optional.of(expectedApplication));
+        BDDMockito.when(applicationRepository.updateStatusByIdAndVersion(applicationId, version, status,
+                ApplicationStatusValidator.getAllowedPreviousStatuses(status))).thenReturn(1);
 
-        BDDMockito.when(applicationRepository.save(any())).thenReturn(updatedApplication);
-
-        ArgumentCaptor<ApplicationStatusEvent> eventCaptor = ArgumentCaptor.forClass(ApplicationStatusEvent.class);
+        ArgumentCaptor<ApplicationStatusOutbox> outboxCaptor = ArgumentCaptor.forClass(ApplicationStatusOutbox.class);
 
         //when
         ApplicationDetailsResponse response = applicationService.updateApplication(applicationId, request);
@@ -289,16 +373,53 @@ public class ApplicationServiceImplTest {
         Assert.assertEquals(resumeText, response.getResumeText());
         Assert.assertEquals(status.name(), response.getStatus());
 
-        BDDMockito.verify(applicationRepository).save(updateApplicationCaptor.capture());
-        Application application = updateApplicationCaptor.getValue();
-        Assert.assertEquals(email, application.getEmail());
-        Assert.assertEquals(resumeText, application.getResumeText());
-        Assert.assertEquals(status, application.getStatus());
+        BDDMockito.verify(applicationRepository, BDDMockito.never()).save(any());
 
+        BDDMockito.verify(applicationStatusOutboxRepository).save(outboxCaptor.capture());
+        ApplicationStatusOutbox statusChange = outboxCaptor.getValue();
+        Assert.assertEquals(applicationId, statusChange.getApplicationId());
+        Assert.assertEquals(ApplicationStatus.APPLIED, statusChange.getOldStatus());
+        Assert.assertEquals(status, statusChange.getNewStatus());
+        Assert.assertFalse(statusChange.isDelivered());
+
+        ArgumentCaptor<ApplicationsUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(ApplicationsUpdatedEvent.class);
         BDDMockito.verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
-        ApplicationStatusEvent event = eventCaptor.getValue();
-        Assert.assertEquals(ApplicationStatus.APPLIED, event.getOldStatus());
-        Assert.assertEquals(status, event.getNewStatus());
+        Assert.assertEquals(Collections.singleton(offer.getId()), eventCaptor.getValue().getOfferIds());
+    }
+
+    @Test
+    public void should_throw_conflict_when_application_was_updated_concurrently() {
+        //given
+        Long applicationId = 1L;
+        Long version = 3L;
+        ApplicationStatus status = ApplicationStatus.INVITED;
+
+        UpdateApplicationRequest request = UpdateApplicationRequest.builder()
+                .status(status)
+                .build();
+
+        Application expectedApplication = Application.builder()
+                .id(applicationId)
+                .email("abc@test.com")
+                .resumeText("xyz")
+                .status(ApplicationStatus.APPLIED)
+                .version(version)
+                .build();
+
+        BDDMockito.when(applicationRepository.findWithResumeById(applicationId))
+                .thenReturn(Optional.of(expectedApplication));
+        BDDMockito.when(applicationRepository.updateStatusByIdAndVersion(applicationId, version, status,
+                ApplicationStatusValidator.getAllowedPreviousStatuses(status))).thenReturn(0);
+
+        //when
+        try {
+            applicationService.updateApplication(applicationId, request);
+            Assert.fail("RecruitmentConflictException is expected.");
+        } catch (RecruitmentConflictException ex) {
+            //then
+            Assert.assertEquals("Application was updated concurrently, please retry.", ex.getMessage());
+        }
+        BDDMockito.verifyZeroInteractions(applicationStatusOutboxRepository);
     }
 
     @Test
@@ -367,21 +488,94 @@ public class ApplicationServiceImplTest {
                         hasProperty("id", is(application1.getId())))));
     }
 
+    @Test
+    public void should_stream_all_application_by_offer_id() {
+        //given
+        Long offerId = 1L;
+
+        Offer offer = Offer.builder().id(offerId).jobTitle("test").startDate(Date.valueOf(LocalDate.now())).build();
+
+        Application application = Application.builder()
+                .id(1L)
+                .offer(offer)
+                .email("abc@test.com")
+                .resumeText("xyz")
+                .status(ApplicationStatus.APPLIED)
+                .build();
+        Application application1 = Application.builder()
+                .id(2L)
+                .offer(offer)
+                .email("xyz@test.com")
+                .resumeText("xyz")
+                .status(ApplicationStatus.INVITED)
+                .build();
+
+        BDDMockito.when(applicationRepository.streamAllByOfferId(offerId)).thenReturn(Stream.of(application, application1));
+
+        List<ApplicationDetailsResponse> responses = new ArrayList<>();
+
+        //when
+        applicationService.streamAllApplicationsByOfferId(offerId, responses::add);
+
+        //then
+        Assert.assertEquals(2, responses.size());
+        Assert.assertEquals(application.getId(), responses.get(0).getId());
+        Assert.assertEquals(application1.getId(), responses.get(1).getId());
+
+        BDDMockito.verify(entityManager).detach(application);
+        BDDMockito.verify(entityManager).detach(application1);
+    }
+
     @Test
     public void should_return_application_count_by_offer_id() {
         //given
         Long offerId = 1L;
         int expectedCount = 10;
 
-        Offer offer = Offer.builder().id(offerId).jobTitle("test").startDate(Date.valueOf(LocalDate.now())).build();
+        Offer offer = Offer.builder()
+                .id(offerId)
+                .jobTitle("test")
+                .startDate(Date.valueOf(LocalDate.now()))
+                .noOfJobApplications(expectedCount)
+                .build();
         BDDMockito.when(offerRepository.findById(offerId)).thenReturn(Optional.of(offer));
-        BDDMockito.when(applicationRepository.getCountByOfferId(offerId)).thenReturn(Optional.of(expectedCount));
 
         //when
         ApplicationCountResponse response = applicationService.getCountOfApplicationByOfferId(offerId);
 
         //then
         Assert.assertEquals(expectedCount, response.getNoOfApplications());
+        BDDMockito.verifyZeroInteractions(applicationRepository);
+    }
+
+    @Test
+    public void should_return_cached_application_count_by_offer_id() {
+        //given
+        Long offerId = 1L;
+        int expectedCount = 10;
+
+        applicationCountCache.get(offerId, id -> expectedCount);
+
+        //when
+        ApplicationCountResponse response = applicationService.getCountOfApplicationByOfferId(offerId);
+
+        //then
+        Assert.assertEquals(expectedCount, response.getNoOfApplications());
+        BDDMockito.verifyZeroInteractions(offerRepository, transactionManager);
+    }
+
+    @Test(expected = RecruitmentBusinessException.class)
+    public void should_throw_error_for_invalid_offer_id_while_getting_application_count() {
+        //given
+        Long offerId = 1L;
+
+        BDDMockito.when(offerRepository.findById(offerId)).thenReturn(Optional.empty());
+
+        //when
+        applicationService.getCountOfApplicationByOfferId(offerId);
+
+        //then
+        //RecruitmentBusinessException is expected.
     }
 
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package org.heavenhr.recruitment.service.Impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.heavenhr.recruitment.cache.OfferCache;
+import org.heavenhr.recruitment.cache.OfferCatalog;
+import org.heavenhr.recruitment.datasource.ReplicaLagGuard;
+import org.heavenhr.recruitment.datasource.ShardRouting;
 import org.heavenhr.recruitment.entity.Offer;
+import org.heavenhr.recruitment.event.OfferCreatedEvent;
 import org.heavenhr.recruitment.exception.RecruitmentBusinessException;
 import org.heavenhr.recruitment.model.request.CreateOfferRequest;
-import org.heavenhr.recruitment.model.response.OfferDetailsListResponse;
 import org.heavenhr.recruitment.model.response.OfferDetailsResponse;
 import org.heavenhr.recruitment.repository.OfferRepository;
 import org.heavenhr.recruitment.service.OfferService;
@@ -14,27 +19,41 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
-import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 
 public class OfferServiceImplTest {
 
     @Mock
     private OfferRepository offerRepository;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private OfferService offerService;
 
     @Before
     public void init() {
         MockitoAnnotations.initMocks(this);
-        offerService = new OfferServiceImpl(offerRepository);
+        offerService = new OfferServiceImpl(offerRepository, new OfferCache(offerRepository, true, 100, 60),
+                new OfferCatalog(offerRepository, new ObjectMapper()), applicationEventPublisher,
+                new ReplicaLagGuard(1000), new ShardRouting(new String[0]), transactionManager);
     }
 
     @Test(expected = RecruitmentBusinessException.class)
@@ -105,6 +124,37 @@ public class OfferServiceImplTest {
         BDDMockito.verify(offerRepository).save(createOfferCaptor.capture());
         Offer offer = createOfferCaptor.getAllValues().get(0);
         Assert.assertEquals(expectedOffer.getJobTitle(), offer.getJobTitle());
+        BDDMockito.verify(applicationEventPublisher).publishEvent(any(OfferCreatedEvent.class));
+    }
+
+    @Test
+    public void should_create_offer_when_copying_to_other_shard_keeps_failing() {
+        //given
+        offerService = new OfferServiceImpl(offerRepository, new OfferCache(offerRepository, true, 100, 60),
+                new OfferCatalog(offerRepository, new ObjectMapper()), applicationEventPublisher,
+                new ReplicaLagGuard(1000), new ShardRouting(new String[]{"shard0", "shard1"}), transactionManager);
+
+        Offer expectedOffer = Offer.builder()
+                .id(1L)
+                .jobTitle("test")
+                .startDate(Date.valueOf(LocalDate.now().plusMonths(1)))
+                .build();
+
+        BDDMockito.when(offerRepository.save(any())).thenReturn(expectedOffer);
+        BDDMockito.when(offerRepository.insertCopy(any(), any(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        //when
+        OfferDetailsResponse response = offerService.CreateOffer(CreateOfferRequest.builder()
+                .jobTitle("test")
+                .startDate(LocalDate.now().plusMonths(1))
+                .build());
+
+        //then
+        Assert.assertEquals(expectedOffer.getId(), response.getId());
+        BDDMockito.verify(offerRepository, times(OfferServiceImpl.MAX_COPY_ATTEMPTS))
+                .insertCopy(expectedOffer.getId(), expectedOffer.getJobTitle(), expectedOffer.getStartDate());
+        BDDMockito.verify(applicationEventPublisher).publishEvent(any(OfferCreatedEvent.class));
     }
 
 
@@ -143,9 +193,30 @@ public class OfferServiceImplTest {
     }
 
     @Test
-    public void should_return_all_offers() {
+    public void should_open_transaction_only_when_offer_is_not_cached() {
         //given
+        Long offerId = 1L;
 
+        Offer expectedOffer = Offer.builder()
+                .id(offerId)
+                .jobTitle("test")
+                .startDate(Date.valueOf(LocalDate.now()))
+                .build();
+
+        BDDMockito.when(offerRepository.findById(offerId)).thenReturn(Optional.of(expectedOffer));
+
+        //when
+        offerService.getOfferById(offerId);
+        offerService.getOfferById(offerId);
+
+        //then
+        BDDMockito.verify(transactionManager, times(1)).getTransaction(any());
+        BDDMockito.verify(offerRepository, times(1)).findById(offerId);
+    }
+
+    @Test
+    public void should_return_all_offers() {
+        //given
         Offer expectedOffer = Offer.builder()
                 .id(1L)
                 .jobTitle("test")
@@ -157,16 +228,38 @@ public class OfferServiceImplTest {
                 .startDate(Date.valueOf(LocalDate.now()))
                 .build();
 
-        BDDMockito.when(offerRepository.findAll()).thenReturn(Arrays.asList(expectedOffer, expectedOffer1));
+        BDDMockito.when(offerRepository.findAll(any(Sort.class)))
+                .thenReturn(Arrays.asList(expectedOffer, expectedOffer1));
 
         //when
-        OfferDetailsListResponse response = offerService.getAllOffers();
+        OfferCatalog.Page page = offerService.getAllOffersPage(null, 20);
 
         //then
-        Assert.assertEquals(2, response.getOffers().size());
-        Assert.assertThat(response.getOffers(),
-                hasItems(anyOf(
-                        hasProperty("id", is(expectedOffer.getId())),
-                        hasProperty("id", is(expectedOffer1.getId())))));
+        Assert.assertEquals(2, page.getOfferCount());
+    }
+
+    @Test
+    public void should_cap_page_size_while_getting_all_offers() {
+        //given
+        List<Offer> offers = new ArrayList<>();
+        for (long id = 1; id <= OfferServiceImpl.MAX_PAGE_SIZE + 1; id++) {
+            offers.add(Offer.builder().id(id).jobTitle("test" + id).startDate(Date.valueOf(LocalDate.now())).build());
+        }
+        BDDMockito.when(offerRepository.findAll(any(Sort.class))).thenReturn(offers);
+
+        //when
+        OfferCatalog.Page page = offerService.getAllOffersPage(null, 10000);
+
+        //then
+        Assert.assertEquals(OfferServiceImpl.MAX_PAGE_SIZE, page.getOfferCount());
+    }
+
+    @Test(expected = RecruitmentBusinessException.class)
+    public void should_throw_error_for_invalid_page_size_while_getting_all_offers() {
+        //when
+        offerService.getAllOffersPage(null, 0);
+
+        //then
+        //RecruitmentBusinessException is expected.
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package org.heavenhr.recruitment.validator;
+
+import org.heavenhr.recruitment.entity.ApplicationStatus;
+import org.heavenhr.recruitment.exception.ErrorCode;
+import org.heavenhr.recruitment.exception.RecruitmentBusinessException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+public class ApplicationStatusValidatorTest {
+
+    @Test
+    public void should_allow_status_update_from_APPLIED() {
+        Assert.assertNull(ApplicationStatusValidator.getStatusUpdateError(ApplicationStatus.APPLIED,
+                ApplicationStatus.INVITED));
+        Assert.assertNull(ApplicationStatusValidator.getStatusUpdateError(ApplicationStatus.APPLIED,
+                ApplicationStatus.REJECTED));
+        Assert.assertNull(ApplicationStatusValidator.getStatusUpdateError(ApplicationStatus.APPLIED,
+                ApplicationStatus.HIRED));
+    }
+
+    @Test
+    public void should_return_error_when_status_is_same() {
+        Assert.assertEquals("Please select different status to update.",
+                ApplicationStatusValidator.getStatusUpdateError(ApplicationStatus.INVITED, ApplicationStatus.INVITED));
+    }
+
+    @Test
+    public void should_return_error_when_status_update_from_INVITED_to_APPLIED() {
+        Assert.assertEquals("Please select different status to update as candidate is invited.",
+                ApplicationStatusValidator.getStatusUpdateError(ApplicationStatus.INVITED, ApplicationStatus.APPLIED));
+    }
+
+    @Test
+    public void should_return_error_when_recruitment_process_is_finished() {
+        Assert.assertEquals("Status update is not allowed as recruitment process is finished for this candidate.",
+                ApplicationStatusValidator.getStatusUpdateError(ApplicationStatus.HIRED, ApplicationStatus.REJECTED));
+        Assert.assertEquals("Status update is not allowed as recruitment process is finished for this candidate.",
+                ApplicationStatusValidator.getStatusUpdateError(ApplicationStatus.REJECTED, ApplicationStatus.APPLIED));
+    }
+
+    @Test(expected = RecruitmentBusinessException.class)
+    public void should_throw_error_when_status_update_is_not_allowed() {
+        ApplicationStatusValidator.checkIfStatusUpdateIsAllowed(ApplicationStatus.HIRED, ApplicationStatus.APPLIED);
+    }
+
+    @Test
+    public void should_throw_shared_stackless_error_with_code() {
+        //when
+        RecruitmentBusinessException first = rejection(ApplicationStatus.INVITED, ApplicationStatus.APPLIED);
+        RecruitmentBusinessException second = rejection(ApplicationStatus.INVITED, ApplicationStatus.APPLIED);
+
+        //then
+        Assert.assertSame(first, second);
+        Assert.assertEquals(ErrorCode.STATUS_UPDATE_NOT_ALLOWED, first.getErrorCode());
+        Assert.assertEquals("Please select different status to update as candidate is invited.", first.getMessage());
+        Assert.assertEquals(0, first.getStackTrace().length);
+    }
+
+    @Test
+    public void should_return_allowed_previous_statuses() {
+        Assert.assertEquals(EnumSet.of(ApplicationStatus.APPLIED, ApplicationStatus.INVITED),
+                ApplicationStatusValidator.getAllowedPreviousStatuses(ApplicationStatus.REJECTED));
+        Assert.assertEquals(EnumSet.of(ApplicationStatus.APPLIED),
+                ApplicationStatusValidator.getAllowedPreviousStatuses(ApplicationStatus.INVITED));
+        Assert.assertEquals(EnumSet.noneOf(ApplicationStatus.class),
+                ApplicationStatusValidator.getAllowedPreviousStatuses(ApplicationStatus.APPLIED));
+    }
+
+    private RecruitmentBusinessException rejection(ApplicationStatus oldStatus, ApplicationStatus newStatus) {
+        try {
+            ApplicationStatusValidator.checkIfStatusUpdateIsAllowed(oldStatus, newStatus);
+            Assert.fail("RecruitmentBusinessException is expected.");
+            return null;
+        } catch (RecruitmentBusinessException ex) {
+            return ex;
+        }
+    }
+}